@@ -1,12 +1,31 @@
 package bob;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 import bob.command.BaseCommand;
+import bob.command.CommandResult;
 import bob.exception.BobException;
+import bob.metrics.CommandEvent;
+import bob.metrics.CommandMetrics;
+import bob.metrics.CommandMetrics.Phase;
 import bob.parser.Parser;
 import bob.storage.Storage;
+import bob.storage.WorkspaceCache;
+import bob.tasklist.Savepoint;
 import bob.tasklist.TaskList;
 import bob.ui.Ui;
 
@@ -15,26 +34,73 @@ import bob.ui.Ui;
  */
 public class Bob {
     private static final String FILE_PATH = Paths.get("data", "bob.txt").toString();
+    private static final String SCRIPT_FLAG = "--script";
+    private static final String SAVE_EVERY_FLAG = "--save-every";
+    private static final String QUIET_FLAG = "--quiet";
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+    private static final String METRICS_FILE_PROPERTY = "bob.metricsFile";
+    private static final String METRICS_DUMP_INTERVAL_PROPERTY = "bob.metricsDumpEvery";
+    private static final int DEFAULT_METRICS_DUMP_INTERVAL = 100;
+    private static final String BATCH_METRICS_NAME = "Batch";
+    private static final String SCRIPT_METRICS_NAME = "Script";
 
     private Storage storage;
     private TaskList tasks;
     private Ui ui;
+    private WorkspaceCache workspaces;
+    private boolean hasExited;
+    private boolean isQuiet;
+    private final CommandMetrics metrics = new CommandMetrics();
+    private final Path metricsFile = getConfiguredMetricsFile();
+    private final int metricsDumpInterval;
+    private int commandsSinceMetricsDump;
 
     /**
      * Initializes Bob with specified file path.
+     * Other named lists are kept as separate files in the same directory.
      *
      * @param filePath the path for task storage
      */
     public Bob(String filePath) {
-        ui = new Ui();
+        this(filePath, new Ui());
+    }
+
+    /**
+     * Initializes Bob with specified file path, talking through the given Ui.
+     *
+     * @param filePath the path for task storage
+     * @param ui the Ui to read commands from and show messages with
+     */
+    public Bob(String filePath, Ui ui) {
+        this(filePath, ui, false);
+    }
+
+    /**
+     * Initializes Bob with specified file path, talking through the given Ui and, if quiet,
+     * showing only errors from the start, so not even the number of tasks loaded.
+     *
+     * @param filePath the path for task storage
+     * @param ui the Ui to read commands from and show messages with
+     * @param isQuiet true to show only errors
+     */
+    public Bob(String filePath, Ui ui, boolean isQuiet) {
+        this.ui = ui;
+        this.isQuiet = isQuiet;
+        metricsDumpInterval = getConfiguredMetricsDumpInterval();
         storage = new Storage(filePath);
         try {
-            tasks = new TaskList(storage.load());
-            ui.showLoadingSuccess(tasks.getSize());
+            tasks = new TaskList(storage.load(), storage.loadSearchIndex());
+            if (!isQuiet) {
+                ui.showLoadingSuccess(tasks.getSize());
+            }
         } catch (IOException e) {
             ui.showLoadingError();
             tasks = new TaskList();
         }
+        Path path = Paths.get(filePath).toAbsolutePath();
+        String name = path.getFileName().toString().replaceFirst("\\.txt$", "");
+        workspaces = new WorkspaceCache(path.getParent(), name, storage, tasks,
+                WorkspaceCache.getConfiguredMemoryBudget());
     }
 
     /**
@@ -46,56 +112,452 @@ public class Bob {
 
     /**
      * Generates a response for user input.
+     * A line holding several commands separated by ';' runs them in order and saves once at the end;
+     * the first failing command stops the rest and undoes the ones before it.
      *
-     * @param input the user's command
-     * @return Bob's response
+     * @param input the user's command or commands
+     * @return Bob's response, with one paragraph per command
      */
     public String getResponse(String input) {
-        if (input == null || input.trim().isEmpty()) {
+        List<String> commands = input == null ? List.of() : Parser.splitCommands(input);
+        if (commands.isEmpty()) {
             return "Please enter a command!";
         }
+        boolean wasDeferringSaves = startBatch(commands);
+        StringJoiner response = new StringJoiner("\n\n");
+        String error = runCommands(commands, result -> response.add(result.toText()));
+        if (error != null) {
+            response.add(error);
+        }
         try {
-            BaseCommand command = Parser.parseCommand(input);
-            return command.executeForGui(tasks, storage);
+            endBatch(commands, wasDeferringSaves);
         } catch (BobException e) {
-            return e.getMessage();
+            response.add(e.getMessage());
         }
+        return response.toString();
+    }
+
+    /**
+     * Checks if a bye command has been run through getResponse.
+     *
+     * @return true if the application should close
+     */
+    public boolean isExit() {
+        return hasExited;
     }
 
     /**
-     * Runs the application loop.
+     * Parses and executes one command, the single path shared by the CLI, scripts and the GUI.
+     * Changes held back by deferred saves are written before a transaction begins, since the list
+     * is not saved again until it is committed.
+     * Saves the current list if the command changed it outside a transaction, carries out
+     * a list switch or exit, then hands the result to the renderer.
+     * A failed save or metrics dump is added to the result rather than thrown, since the command
+     * itself succeeded; an unshown result has the metrics failure shown as an error instead.
+     * Each phase is timed for the metrics command, and parsing and execution are also emitted as
+     * Flight Recorder events when enabled.
+     *
+     * @param commandText the command
+     * @param renderer shows the result, or null to leave it unshown
+     * @throws BobException if the command fails
+     */
+    private void execute(String commandText, Consumer<CommandResult> renderer) throws BobException {
+        long startNanos = System.nanoTime();
+        long startBytes = CommandMetrics.getAllocatedBytes();
+        CommandEvent event = CommandEvent.start(Phase.PARSE);
+        BaseCommand command = Parser.parseCommand(commandText);
+        String name = command.getClass().getSimpleName().replace("Command", "");
+        try {
+            command.parse(tasks);
+        } finally {
+            CommandEvent.finish(event, name);
+            metrics.record(name, Phase.PARSE, startNanos, startBytes);
+        }
+
+        if (command.isBeginningTransaction() && !tasks.isInTransaction()) {
+            saveWorkspaces(name);
+        }
+        startNanos = System.nanoTime();
+        startBytes = CommandMetrics.getAllocatedBytes();
+        event = CommandEvent.start(Phase.EXECUTE);
+        CommandResult result;
+        try {
+            result = command.execute(tasks);
+        } finally {
+            CommandEvent.finish(event, name);
+            metrics.record(name, Phase.EXECUTE, startNanos, startBytes);
+        }
+
+        if (result.hasChangedTasks() && !tasks.isInTransaction()) {
+            startNanos = System.nanoTime();
+            startBytes = CommandMetrics.getAllocatedBytes();
+            try {
+                storage.save(tasks.getAllTasks());
+            } catch (IOException e) {
+                result = result.withLine("Could not save your tasks: " + e.getMessage());
+            }
+            metrics.record(name, Phase.SAVE, startNanos, startBytes);
+        }
+        if (command.getWorkspaceName() != null) {
+            switchWorkspace(command.getWorkspaceName());
+            result = CommandResult.of("Switched to list '" + command.getWorkspaceName() + "' with "
+                    + tasks.getSize() + " task(s).");
+        }
+        if (command.isShowingMetrics()) {
+            List<String> report = metrics.toLines();
+            result = new CommandResult(false, () -> report);
+        }
+        if (command.isExit()) {
+            hasExited = true;
+            saveWorkspaces(name);
+        }
+
+        String dumpFailure = dumpMetricsIfDue();
+        if (dumpFailure != null && renderer == null) {
+            ui.showError(dumpFailure);
+        } else if (dumpFailure != null) {
+            result = result.withLine(dumpFailure);
+        }
+
+        if (renderer != null) {
+            startNanos = System.nanoTime();
+            startBytes = CommandMetrics.getAllocatedBytes();
+            renderer.accept(result);
+            metrics.record(name, Phase.RENDER, startNanos, startBytes);
+        }
+    }
+
+    /**
+     * Writes the metrics report to the dump file every so many commands and on exit,
+     * if a dump file was configured with the bob.metricsFile system property.
+     *
+     * @return a warning if the file could not be written, or null
+     */
+    private String dumpMetricsIfDue() {
+        commandsSinceMetricsDump++;
+        if (commandsSinceMetricsDump >= metricsDumpInterval || hasExited) {
+            return dumpMetrics();
+        }
+        return null;
+    }
+
+    /**
+     * Writes the metrics report to the dump file, if one was configured.
+     *
+     * @return a warning if the file could not be written, or null
+     */
+    private String dumpMetrics() {
+        commandsSinceMetricsDump = 0;
+        if (metricsFile == null) {
+            return null;
+        }
+        try {
+            metrics.dumpTo(metricsFile);
+            return null;
+        } catch (IOException e) {
+            return "Could not write the metrics file: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Runs the application loop until a bye command or the end of the input.
      */
     public void run() {
         ui.showWelcome();
-        boolean isExit = false;
+        while (!hasExited && ui.hasNextCommand()) {
+            runLine(ui.readCommand());
+        }
+        warnIfTransactionOpen();
+    }
 
-        while (!isExit) {
-            try {
-                String fullCommand = ui.readCommand();
-                if (fullCommand.trim().isEmpty()) {
+    /**
+     * Runs commands until the input ends or a bye command, without prompting.
+     * Saves are deferred and the lists are written once at the end, or every saveInterval
+     * commands if it is positive, instead of after every change. The lists are saved and the output
+     * flushed even if a command fails unexpectedly.
+     *
+     * @param saveInterval the number of commands between saves, or 0 to save only at the end
+     * @param isQuiet true to show only errors, so results are never formatted
+     */
+    public void runScript(int saveInterval, boolean isQuiet) {
+        workspaces.setDeferringSaves(true);
+        this.isQuiet = isQuiet;
+        int commandsSinceSave = 0;
+
+        try {
+            while (!hasExited && ui.hasNextCommand()) {
+                List<String> commands = Parser.splitCommands(ui.readCommand());
+                if (commands.isEmpty()) {
                     continue;
                 }
-
-                ui.showLine();
-                BaseCommand command = Parser.parseCommand(fullCommand);
-                command.execute(tasks, ui, storage);
-                isExit = command.isExit();
+                showError(runCommands(commands, isQuiet ? null : ui::showResult));
+                commandsSinceSave += commands.size();
+                if (saveInterval > 0 && commandsSinceSave >= saveInterval) {
+                    try {
+                        saveWorkspaces(SCRIPT_METRICS_NAME);
+                    } catch (BobException e) {
+                        ui.showError(e.getMessage());
+                    }
+                    commandsSinceSave = 0;
+                }
+            }
+        } finally {
+            warnIfTransactionOpen();
+            try {
+                saveWorkspaces(SCRIPT_METRICS_NAME);
             } catch (BobException e) {
                 ui.showError(e.getMessage());
-            } finally {
-                if (!isExit) {
-                    ui.showLine();
+            }
+            showError(dumpMetrics());
+            ui.flush();
+        }
+    }
+
+    /**
+     * Warns that the input ended with a transaction still open, whose changes are therefore not saved.
+     * Only the current list can have one, since switching lists is refused during a transaction.
+     */
+    private void warnIfTransactionOpen() {
+        if (tasks.isInTransaction()) {
+            ui.showError("Your transaction was never committed, so the changes made since begin were not saved.");
+        }
+    }
+
+    /**
+     * Runs the commands on one input line, saving once at the end if there are several.
+     *
+     * @param line the input line
+     */
+    private void runLine(String line) {
+        List<String> commands = Parser.splitCommands(line);
+        if (commands.isEmpty()) {
+            return;
+        }
+        boolean wasDeferringSaves = startBatch(commands);
+        showError(runCommands(commands, isQuiet ? null : ui::showResult));
+        try {
+            endBatch(commands, wasDeferringSaves);
+        } catch (BobException e) {
+            ui.showError(e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the commands of one line in order, handing each result to the renderer.
+     * The first failing command stops the rest, and the changes made by the commands before it are
+     * rolled back in every list they touched, so a line either applies fully or not at all.
+     *
+     * @param commands the commands to run
+     * @param renderer shows each result, or null to leave them unshown
+     * @return the error message of the failing command, or null if all of them succeeded
+     */
+    private String runCommands(List<String> commands, Consumer<CommandResult> renderer) {
+        boolean isUndoable = commands.size() > 1;
+        String originalName = workspaces.getCurrentName();
+        Map<TaskList, Savepoint> savepoints = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < commands.size() && !hasExited; i++) {
+                if (isUndoable) {
+                    savepoints.computeIfAbsent(tasks, TaskList::createSavepoint);
+                }
+                try {
+                    execute(commands.get(i), renderer);
+                } catch (BobException e) {
+                    String error = e.getMessage() + describeSkipped(commands.size() - i - 1);
+                    if (i == 0) {
+                        return error;
+                    }
+                    return error + rollBackLine(savepoints, originalName);
                 }
             }
+            return null;
+        } finally {
+            savepoints.forEach(TaskList::releaseSavepoint);
+        }
+    }
+
+    /**
+     * Rolls every list touched by a failed line back to its savepoint and returns to the list
+     * that was current when the line started.
+     * Each rolled back list is removed from the map, as its savepoint is released.
+     *
+     * @param savepoints the savepoint taken in each list the line touched
+     * @param originalName the name of the list current when the line started
+     * @return the note to add to the error message
+     */
+    private String rollBackLine(Map<TaskList, Savepoint> savepoints, String originalName) {
+        savepoints.forEach(TaskList::rollBackTo);
+        savepoints.clear();
+        try {
+            if (!workspaces.getCurrentName().equals(originalName)) {
+                switchWorkspace(originalName);
+            }
+        } catch (BobException e) {
+            return "\n" + e.getMessage();
+        }
+        return "\nUndid the earlier command(s) on that line.";
+    }
+
+    /**
+     * Shows an error message, if there is one.
+     *
+     * @param message the message, or null if there was no error
+     */
+    private void showError(String message) {
+        if (message != null) {
+            ui.showError(message);
+        }
+    }
+
+    /**
+     * Defers saves while several commands from one line run, so they are written together.
+     *
+     * @param commands the commands about to run
+     * @return whether saves were already deferred, to be passed to endBatch
+     */
+    private boolean startBatch(List<String> commands) {
+        boolean wasDeferringSaves = workspaces.isDeferringSaves();
+        if (commands.size() > 1) {
+            workspaces.setDeferringSaves(true);
+        }
+        return wasDeferringSaves;
+    }
+
+    /**
+     * Restores the save mode after several commands from one line ran, writing their changes
+     * unless saves were deferred already.
+     *
+     * @param commands the commands that ran
+     * @param wasDeferringSaves the value returned by startBatch
+     * @throws BobException if a list fails to save
+     */
+    private void endBatch(List<String> commands, boolean wasDeferringSaves) throws BobException {
+        if (commands.size() > 1 && !wasDeferringSaves) {
+            workspaces.setDeferringSaves(false);
+            saveWorkspaces(BATCH_METRICS_NAME);
+        }
+    }
+
+    /**
+     * Describes the commands left out after a command on the same line failed.
+     *
+     * @param count the number of commands left out
+     * @return the note to add to the error message, or an empty string if none were left out
+     */
+    private static String describeSkipped(int count) {
+        return count == 0 ? "" : "\nSkipped the remaining " + count + " command(s) on that line.";
+    }
+
+    /**
+     * Reads the metrics dump file from the bob.metricsFile system property.
+     *
+     * @return the path to dump metrics to, or null if none was configured
+     */
+    private static Path getConfiguredMetricsFile() {
+        String path = System.getProperty(METRICS_FILE_PROPERTY);
+        return path == null || path.isBlank() ? null : Paths.get(path);
+    }
+
+    /**
+     * Reads how many commands to run between metrics dumps from the bob.metricsDumpEvery system property.
+     *
+     * Any other value is reported through the Ui.
+     *
+     * @return the interval, 100 unless the property gives a positive number
+     */
+    private int getConfiguredMetricsDumpInterval() {
+        int interval = Integer.getInteger(METRICS_DUMP_INTERVAL_PROPERTY, DEFAULT_METRICS_DUMP_INTERVAL);
+        if (interval > 0) {
+            return interval;
+        }
+        ui.showError(METRICS_DUMP_INTERVAL_PROPERTY + " must be a positive number; using "
+                + DEFAULT_METRICS_DUMP_INTERVAL + ".");
+        return DEFAULT_METRICS_DUMP_INTERVAL;
+    }
+
+    /**
+     * Makes the named list current, loading it if it is not in memory.
+     *
+     * @param name the name of the list
+     * @throws BobException if the list cannot be loaded
+     */
+    private void switchWorkspace(String name) throws BobException {
+        workspaces.switchTo(name);
+        tasks = workspaces.getCurrentTasks();
+        storage = workspaces.getCurrentStorage();
+    }
+
+    /**
+     * Saves every list in memory that has unsaved changes, timing it as the save phase of
+     * the given command, or of a batch or script run.
+     *
+     * @param metricsName the name to record the save under in the metrics (e.g., "Exit" or "Script")
+     * @throws BobException if a list fails to save
+     */
+    private void saveWorkspaces(String metricsName) throws BobException {
+        long startNanos = System.nanoTime();
+        long startBytes = CommandMetrics.getAllocatedBytes();
+        try {
+            workspaces.saveAll();
+        } catch (IOException e) {
+            throw new BobException("Could not save your lists: " + e.getMessage());
+        } finally {
+            metrics.record(metricsName, Phase.SAVE, startNanos, startBytes);
         }
     }
 
     /**
      * Entry point for the application.
+     * With --script [FILE] [--save-every N] [--quiet], runs the commands in FILE (or standard input
+     * if no file is given) without prompting, saving at the end or every N commands, and showing
+     * only errors if --quiet is given.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments
      */
     public static void main(String[] args) {
-        new Bob(FILE_PATH).run();
+        if (args.length == 0 || !args[0].equals(SCRIPT_FLAG)) {
+            new Bob(FILE_PATH).run();
+            return;
+        }
+        String scriptPath = null;
+        int saveInterval = 0;
+        boolean isQuiet = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals(QUIET_FLAG)) {
+                isQuiet = true;
+            } else if (args[i].equals(SAVE_EVERY_FLAG)) {
+                saveInterval = i + 1 < args.length ? parseSaveInterval(args[++i]) : -1;
+            } else if (scriptPath == null) {
+                scriptPath = args[i];
+            } else {
+                saveInterval = -1;
+            }
+            if (saveInterval < 0) {
+                System.err.println("Usage: bob --script [FILE] [--save-every N] [--quiet]");
+                return;
+            }
+        }
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+                OUTPUT_BUFFER_BYTES), false, StandardCharsets.UTF_8);
+        try (InputStream in = scriptPath == null ? System.in : Files.newInputStream(Paths.get(scriptPath))) {
+            new Bob(FILE_PATH, new Ui(in, out), isQuiet).runScript(saveInterval, isQuiet);
+        } catch (IOException e) {
+            System.err.println("Could not read the script: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the number of commands between saves in script mode.
+     *
+     * @param text the number given after --save-every
+     * @return the number, or -1 if it is not a positive number
+     */
+    private static int parseSaveInterval(String text) {
+        try {
+            int interval = Integer.parseInt(text);
+            return interval > 0 ? interval : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
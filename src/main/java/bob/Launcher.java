@@ -7,11 +7,16 @@ import javafx.application.Application;
  */
 public class Launcher {
     /**
-     * Application entry point that launches the JavaFX Main application.
+     * Application entry point that launches the JavaFX Main application,
+     * or runs a script of commands without the GUI if the first argument is --script.
      *
      * @param args command-line arguments
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--script")) {
+            Bob.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -85,7 +85,7 @@ public class MainWindow extends AnchorPane {
         );
         userInput.clear();
 
-        if (input.trim().equalsIgnoreCase("bye")) {
+        if (bob.isExit()) {
             userInput.setDisable(true);
             sendButton.setDisable(true);
             PauseTransition delay = new PauseTransition(Duration.seconds(1.5));
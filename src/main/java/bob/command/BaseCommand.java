@@ -1,35 +1,56 @@
 package bob.command;
 
 import bob.exception.BobException;
-import bob.storage.Storage;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
  * Abstract base class for all commands in the Bob application.
  * Defines the contract that all command implementations must follow.
+ * Commands only change the task list and describe what they did; saving the list and showing
+ * the result in the CLI or the GUI is left to the caller, so both share one execution path.
+ * The caller calls parse and then execute, so reading the arguments is kept apart from running the command.
  */
 public abstract class BaseCommand {
     /**
-     * Executes the command with the given task list, user interface, and storage.
+     * Reads the command's arguments from the user input, before the command is executed.
+     * Commands without arguments need not override this.
+     * @param tasks the task list the command will run on, for checking task numbers
+     * @throws BobException if the arguments are invalid
+     */
+    public void parse(TaskList tasks) throws BobException {
+    }
+
+    /**
+     * Executes the command on the given task list.
      * Subclasses must provide their specific implementation of the command logic.
      * @param tasks the task list to operate on
-     * @param ui the user interface for displaying messages
-     * @param storage the storage manager for persisting data
+     * @return the result, saying whether the list changed and what to show
      * @throws BobException if an error occurs during command execution
      */
-    public abstract void execute(TaskList tasks, Ui ui, Storage storage) throws BobException;
+    public abstract CommandResult execute(TaskList tasks) throws BobException;
 
     /**
-     * Executes the command for GUI mode and returns the response as a string.
-     * Default implementation delegates to execute() and returns a generic message.
-     * @param tasks the task list to operate on
-     * @param storage the storage manager for persisting data
-     * @return the response message to display in the GUI
-     * @throws BobException if an error occurs during command execution
+     * Gets the task list this command switches to, once it has been executed.
+     * @return the name of the list to switch to, or null if this command does not switch lists
+     */
+    public String getWorkspaceName() {
+        return null;
+    }
+
+    /**
+     * Determines whether this command opens a transaction, so changes made before it must be saved first.
+     * @return true if this command begins a transaction, false otherwise
+     */
+    public boolean isBeginningTransaction() {
+        return false;
+    }
+
+    /**
+     * Determines whether this command asks for the command metrics, which Bob then shows as its result.
+     * @return true if this command is a metrics command, false otherwise
      */
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        return "Command executed successfully.";
+    public boolean isShowingMetrics() {
+        return false;
     }
 
     /**
@@ -0,0 +1,122 @@
+package bob.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import bob.task.Task;
+
+/**
+ * The outcome of running a command: whether it changed the task list, and the message to show.
+ * The message lines are built only when the CLI or the GUI asks for them, so a result that is
+ * never shown (as in a quiet script run) is never formatted.
+ */
+public class CommandResult {
+    private final boolean hasChangedTasks;
+    private final Supplier<List<String>> lineSupplier;
+    private List<String> lines;
+
+    /**
+     * Constructs a CommandResult.
+     *
+     * @param hasChangedTasks whether the command changed the task list, so it needs saving
+     * @param lineSupplier builds the lines of the message when it is first needed
+     */
+    public CommandResult(boolean hasChangedTasks, Supplier<List<String>> lineSupplier) {
+        this.hasChangedTasks = hasChangedTasks;
+        this.lineSupplier = lineSupplier;
+    }
+
+    /**
+     * Creates a result for a command that changed nothing, with a fixed message.
+     *
+     * @param lines the lines of the message
+     * @return the result
+     */
+    public static CommandResult of(String... lines) {
+        return new CommandResult(false, () -> List.of(lines));
+    }
+
+    /**
+     * Creates a result listing items numbered from 1 below a header, or a single line if there are none.
+     *
+     * @param header the line shown above the items
+     * @param emptyMessage the line shown if there are no items
+     * @param items the items to list
+     * @return the result
+     */
+    static CommandResult ofNumbered(String header, String emptyMessage, List<Task> items) {
+        return new CommandResult(false, () -> {
+            if (items.isEmpty()) {
+                return List.of(emptyMessage);
+            }
+            List<String> lines = new ArrayList<>(items.size() + 1);
+            lines.add(header);
+            for (int i = 0; i < items.size(); i++) {
+                lines.add((i + 1) + "." + items.get(i));
+            }
+            return lines;
+        });
+    }
+
+    /**
+     * Creates a result confirming that a task was added.
+     *
+     * @param task the task added
+     * @param totalTasks the number of tasks in the list after adding it
+     * @param extraLines lines to show after the confirmation, such as warnings
+     * @return the result
+     */
+    static CommandResult ofAdded(Task task, int totalTasks, List<String> extraLines) {
+        return new CommandResult(true, () -> {
+            List<String> lines = new ArrayList<>(List.of("Got it! Added this task:", "  " + task,
+                    "Now you have " + totalTasks + " task(s) in the list."));
+            lines.addAll(extraLines);
+            return lines;
+        });
+    }
+
+    /**
+     * Creates a copy of this result with a line added to the end of its message.
+     *
+     * @param line the line to add
+     * @return the new result
+     */
+    public CommandResult withLine(String line) {
+        return new CommandResult(hasChangedTasks, () -> {
+            List<String> extendedLines = new ArrayList<>(getLines());
+            extendedLines.add(line);
+            return extendedLines;
+        });
+    }
+
+    /**
+     * Checks if the command changed the task list.
+     *
+     * @return true if the task list needs saving
+     */
+    public boolean hasChangedTasks() {
+        return hasChangedTasks;
+    }
+
+    /**
+     * Gets the lines of the message, building them the first time.
+     *
+     * @return the message lines, possibly none
+     */
+    public List<String> getLines() {
+        if (lines == null) {
+            lines = lineSupplier.get();
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the message as one piece of text, one line per message line.
+     *
+     * @return the message text
+     */
+    public String toText() {
+        return String.join("\n", getLines());
+    }
+}
@@ -1,8 +0,0 @@
-package bob.command;
-
-/**
- * Enum representing different types of commands supported by the Bob application.
- */
-public enum CommandType {
-    TODO, DEADLINE, EVENT, LIST, MARK, UNMARK, DELETE, BYE, FIND, SORT, UNKNOWN
-}
@@ -0,0 +1,29 @@
+package bob.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.tasklist.EventConflict;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to list every pair of events not done yet that share at least one day.
+ */
+public class ConflictsCommand extends BaseCommand {
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<EventConflict> conflicts = tasks.findAllConflicts();
+        return new CommandResult(false, () -> {
+            if (conflicts.isEmpty()) {
+                return List.of("No overlapping events. Your schedule is clear!");
+            }
+            List<String> lines = new ArrayList<>(List.of("These events overlap:"));
+            for (int i = 0; i < conflicts.size(); i++) {
+                lines.add((i + 1) + "." + conflicts.get(i).getFirst());
+                lines.add("   and " + conflicts.get(i).getSecond());
+            }
+            return lines;
+        });
+    }
+}
@@ -1,73 +1,53 @@
 package bob.command;
 
-import java.io.IOException;
+import java.util.List;
 
 import bob.exception.BobException;
 import bob.parser.Parser;
-import bob.storage.Storage;
+import bob.task.Task;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
- * Command to delete a task from the task list.
- * Parses the task index from user input and removes it from storage.
+ * Command to delete one or more tasks from the task list.
+ * Parses one or more task numbers from user input and removes those tasks.
  */
 public class DeleteCommand extends BaseCommand {
     private String userInput;
+    private boolean isById;
+    private int[] selection;
 
     /**
      * Constructs a DeleteCommand with the user input.
-     * @param userInput the user input string containing the task index to delete
+     * @param userInput the user input string containing the task number(s) or #ID(s) to delete
      */
     public DeleteCommand(String userInput) {
         this.userInput = userInput;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        int idx = Parser.parseTaskIndex(userInput);
-        bob.task.Task removedTask = tasks.deleteTask(idx);
-        ui.showTaskDeleted(removedTask, tasks.getSize());
-        saveTasks(storage, tasks, ui);
+    public void parse(TaskList tasks) throws BobException {
+        isById = Parser.isIdSelection(userInput);
+        selection = isById ? Parser.parseTaskIds(userInput) : Parser.parseTaskIndices(userInput, tasks.getSize());
     }
 
     @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        int idx = Parser.parseTaskIndex(userInput);
-        bob.task.Task removedTask = tasks.deleteTask(idx);
-        saveTasksQuiet(storage, tasks);
-        return "Noted. Removed this task:\n  " + removedTask.toString()
-                + "\nYou now have " + tasks.getSize() + " task(s) in the list.";
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<Task> removedTasks = apply(tasks);
+        int remainingTasks = tasks.getSize();
+        String remaining = "Now you have " + remainingTasks + " task(s) in the list.";
+        return new CommandResult(true, () -> removedTasks.size() == 1
+                ? List.of("Noted. Removed this task:", "  " + removedTasks.get(0), remaining)
+                : List.of("Noted. Removed " + removedTasks.size() + " tasks.", remaining));
     }
 
     /**
-     * Saves the task list to storage and displays an error message if the save fails.
+     * Deletes the tasks selected by list number or by ID.
      *
-     * @param storage the storage manager to save tasks to
-     * @param tasks the task list to save
-     * @param ui the user interface for displaying error messages
+     * @param tasks the task list to update
+     * @return the deleted tasks
+     * @throws BobException if a selected task no longer exists
      */
-    private void saveTasks(Storage storage, TaskList tasks, Ui ui) {
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            ui.showError("Could not save your task: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Saves the task list to storage and throws an exception if the save fails.
-     * Used by GUI mode to propagate errors.
-     *
-     * @param storage the storage manager to save tasks to
-     * @param tasks the task list to save
-     * @throws BobException if an I/O error occurs during save
-     */
-    private void saveTasksQuiet(Storage storage, TaskList tasks) throws BobException {
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            throw new BobException("Could not save your task: " + e.getMessage());
-        }
+    private List<Task> apply(TaskList tasks) throws BobException {
+        return isById ? tasks.deleteTasksById(selection) : tasks.deleteTasks(selection);
     }
 }
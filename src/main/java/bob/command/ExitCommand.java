@@ -1,23 +1,22 @@
 package bob.command;
 
 import bob.exception.BobException;
-import bob.storage.Storage;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
  * Command to exit the Bob application.
  * Displays an exit message and signals the application to terminate.
+ * An open transaction is committed first, so its changes are saved on the way out.
  */
 public class ExitCommand extends BaseCommand {
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        ui.showExit();
-    }
-
-    @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        return "Goodbye! Thanks for using Bob.";
+    public CommandResult execute(TaskList tasks) throws BobException {
+        if (tasks.isInTransaction()) {
+            int kept = tasks.commitTransaction();
+            return CommandResult.of("Committed " + kept + " change(s) from your open transaction.",
+                    "Goodbye! Hope to see you again soon.");
+        }
+        return CommandResult.of("Goodbye! Hope to see you again soon.");
     }
 
     @Override
@@ -3,49 +3,59 @@ package bob.command;
 import java.util.List;
 
 import bob.exception.BobException;
-import bob.storage.Storage;
+import bob.parser.Parser;
+import bob.task.Task;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
+import bob.tasklist.TaskQuery;
 
 /**
- * Command to find tasks by keyword search.
- * Searches for tasks that contain the keyword in their description.
+ * Command to find tasks with a search query.
+ * Matches keywords and quoted phrases in descriptions, and supports filters such as
+ * type:deadline, done:false, before:2026-12-01 and exclusions like -draft.
+ * Adding /top N anywhere in the query (e.g., find /top 5 meeting notes) shows only the N most
+ * relevant matches, best first, instead of every match in list order.
  */
 public class FindCommand extends BaseCommand {
+    private static final String TOP_FLAG = "/top";
+
     private String userInput;
+    private String queryText;
+    private TaskQuery query;
+    private int topCount;
 
     /**
      * Constructs a FindCommand with the user input.
-     * @param userInput the user input string containing the keyword to search for (e.g., "find book")
+     * @param userInput the user input string containing the search query (e.g., "find book done:false")
      */
     public FindCommand(String userInput) {
         this.userInput = userInput;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        String keyword = userInput.substring(4).trim();
-        if (keyword.isEmpty()) {
-            throw new BobException("Please provide a keyword to search for! (e.g., find book)");
-        }
-        List<bob.task.Task> matchingTasks = tasks.findTasksByKeyword(keyword);
-        ui.showTasksFound(matchingTasks, keyword);
+    public void parse(TaskList tasks) throws BobException {
+        queryText = getQueryText();
+        query = Parser.parseQuery(queryText);
+        topCount = Parser.parsePositiveOption(userInput, "find", TOP_FLAG, 0);
     }
 
     @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        String keyword = userInput.substring(4).trim();
-        if (keyword.isEmpty()) {
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<Task> matches = topCount > 0 ? tasks.findTopTasks(query, topCount) : tasks.findTasks(query);
+        return CommandResult.ofNumbered("Here are the matching tasks:", "No tasks found with \"" + queryText + "\".",
+                matches);
+    }
+
+    /**
+     * Extracts the search query from the user input, leaving out the /top option wherever it is.
+     *
+     * @return the query text
+     * @throws BobException if no query was given
+     */
+    private String getQueryText() throws BobException {
+        String queryText = Parser.parseArgumentsWithoutOption(userInput, TOP_FLAG);
+        if (queryText.isEmpty()) {
             throw new BobException("Please provide a keyword to search for! (e.g., find book)");
         }
-        List<bob.task.Task> matchingTasks = tasks.findTasksByKeyword(keyword);
-        if (matchingTasks.isEmpty()) {
-            return "No tasks found with \"" + keyword + "\".";
-        }
-        StringBuilder sb = new StringBuilder("Here are the matching tasks:\n");
-        for (int i = 0; i < matchingTasks.size(); i++) {
-            sb.append((i + 1)).append(".").append(matchingTasks.get(i).toString()).append("\n");
-        }
-        return sb.toString().trim();
+        return queryText;
     }
 }
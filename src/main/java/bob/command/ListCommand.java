@@ -1,29 +1,106 @@
 package bob.command;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import bob.exception.BobException;
-import bob.storage.Storage;
+import bob.parser.Parser;
+import bob.task.Task;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
+import bob.tasklist.TaskPage;
 
 /**
- * Command to display all tasks in the task list.
- * Shows the entire list of tasks to the user.
+ * Command to display the tasks in the task list one page at a time.
+ * Accepts optional /page and /size options (e.g., list /page 2 /size 20), and /ids to show
+ * each task's stable ID.
  */
 public class ListCommand extends BaseCommand {
+    /** Number of tasks shown per page when no /size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private String userInput;
+    private int pageNumber;
+    private int pageSize;
+
+    /**
+     * Constructs a ListCommand with the user input.
+     * @param userInput the user input string, optionally containing /page, /size and /ids options
+     */
+    public ListCommand(String userInput) {
+        this.userInput = userInput;
+    }
+
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        ui.showTaskList(tasks.getAllTasks());
+    public void parse(TaskList tasks) throws BobException {
+        pageNumber = Parser.parsePositiveOption(userInput, "list", "/page", 1);
+        pageSize = Parser.parsePositiveOption(userInput, "list", "/size", DEFAULT_PAGE_SIZE);
     }
 
     @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
+    public CommandResult execute(TaskList tasks) throws BobException {
         if (tasks.getSize() == 0) {
-            return "Your task list is empty! Time to add some tasks.";
+            return CommandResult.of("Your task list is empty! Time to add some tasks.");
         }
-        StringBuilder sb = new StringBuilder("Here are your tasks:\n");
-        for (int i = 0; i < tasks.getSize(); i++) {
-            sb.append((i + 1)).append(".").append(tasks.getTask(i).toString()).append("\n");
+        TaskPage page = tasks.getPage(pageNumber, pageSize);
+        return formatPage(page, "Here are your tasks:", isShowingIds(), false);
+    }
+
+    /**
+     * Checks if the user asked to see stable task IDs.
+     *
+     * @return true if the /ids option is present
+     */
+    private boolean isShowingIds() {
+        return (userInput + " ").contains(" /ids ");
+    }
+
+    /**
+     * Describes a page of tasks, numbered by position in the whole list.
+     *
+     * @param page the page to describe
+     * @param header the line shown above the tasks
+     * @param showIds whether to show each task's stable ID
+     * @param hasChangedTasks whether the command showing the page changed the task list
+     * @return the result showing the page
+     */
+    static CommandResult formatPage(TaskPage page, String header, boolean showIds, boolean hasChangedTasks) {
+        return new CommandResult(hasChangedTasks, () -> {
+            List<Task> pageTasks = page.getTasks();
+            List<String> lines = new ArrayList<>(pageTasks.size() + 2);
+            lines.add(header);
+            for (int i = 0; i < pageTasks.size(); i++) {
+                lines.add((page.getOffset() + i + 1) + "." + formatTask(pageTasks.get(i), showIds));
+            }
+            if (!page.isComplete()) {
+                lines.add(describePage(page));
+            }
+            return lines;
+        });
+    }
+
+    /**
+     * Formats a task for a list, optionally followed by its stable ID.
+     *
+     * @param task the task
+     * @param showId whether to append the ID (e.g., "#12")
+     * @return the formatted task
+     */
+    private static String formatTask(Task task, boolean showId) {
+        return showId ? task + " #" + task.getId() : task.toString();
+    }
+
+    /**
+     * Describes which part of the list a page covers and how to see the next one.
+     *
+     * @param page the page of tasks
+     * @return the page summary
+     */
+    private static String describePage(TaskPage page) {
+        String summary = "Page " + page.getPageNumber() + " of " + page.getPageCount()
+                + " (" + page.getTotalTasks() + " tasks).";
+        if (page.hasNextPage()) {
+            summary += " Type 'list /page " + (page.getPageNumber() + 1) + "' for more.";
         }
-        return sb.toString().trim();
+        return summary;
     }
 }
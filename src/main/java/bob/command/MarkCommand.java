@@ -1,72 +1,52 @@
 package bob.command;
 
-import java.io.IOException;
+import java.util.List;
 
 import bob.exception.BobException;
 import bob.parser.Parser;
-import bob.storage.Storage;
+import bob.task.Task;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
- * Command to mark a task as done.
- * Parses the task index from user input and updates the task's completion status.
+ * Command to mark one or more tasks as done.
+ * Parses one or more task numbers from user input and updates their completion status.
  */
 public class MarkCommand extends BaseCommand {
     private String userInput;
+    private boolean isById;
+    private int[] selection;
 
     /**
      * Constructs a MarkCommand with the user input.
-     * @param userInput the user input string containing the task index to mark as done
+     * @param userInput the user input string containing the task number(s) or #ID(s) to mark as done
      */
     public MarkCommand(String userInput) {
         this.userInput = userInput;
     }
 
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        int idx = Parser.parseTaskIndex(userInput);
-        tasks.markTask(idx);
-        ui.showTaskMarked(tasks.getTask(idx));
-        saveTasks(storage, tasks, ui);
+    public void parse(TaskList tasks) throws BobException {
+        isById = Parser.isIdSelection(userInput);
+        selection = isById ? Parser.parseTaskIds(userInput) : Parser.parseTaskIndices(userInput, tasks.getSize());
     }
 
     @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        int idx = Parser.parseTaskIndex(userInput);
-        tasks.markTask(idx);
-        saveTasksQuiet(storage, tasks);
-        return "Nice! Marked this task as done:\n  " + tasks.getTask(idx).toString();
+    public CommandResult execute(TaskList tasks) throws BobException {
+        long changeCount = tasks.getChangeCount();
+        List<Task> changed = apply(tasks);
+        return new CommandResult(tasks.getChangeCount() != changeCount, () -> changed.size() == 1
+                ? List.of("Nice! Marked this task as done:", "  " + changed.get(0))
+                : List.of("Nice! Marked " + changed.size() + " tasks as done."));
     }
 
     /**
-     * Saves the task list to storage and displays an error message if the save fails.
+     * Applies the command to the tasks selected by list number or by ID.
      *
-     * @param storage the storage manager to save tasks to
-     * @param tasks the task list to save
-     * @param ui the user interface for displaying error messages
+     * @param tasks the task list to update
+     * @return the selected tasks
+     * @throws BobException if a selected task no longer exists
      */
-    private void saveTasks(Storage storage, TaskList tasks, Ui ui) {
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            ui.showError("Could not save your task: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Saves the task list to storage and throws an exception if the save fails.
-     * Used by GUI mode to propagate errors.
-     *
-     * @param storage the storage manager to save tasks to
-     * @param tasks the task list to save
-     * @throws BobException if an I/O error occurs during save
-     */
-    private void saveTasksQuiet(Storage storage, TaskList tasks) throws BobException {
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            throw new BobException("Could not save your task: " + e.getMessage());
-        }
+    private List<Task> apply(TaskList tasks) throws BobException {
+        return isById ? tasks.markTasksById(selection) : tasks.markTasks(selection);
     }
 }
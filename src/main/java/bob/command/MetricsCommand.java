@@ -0,0 +1,20 @@
+package bob.command;
+
+import bob.exception.BobException;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to show how long each phase of each kind of command has taken and how much it allocated.
+ * Commands only see the task list, so Bob fills in the report as the result.
+ */
+public class MetricsCommand extends BaseCommand {
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        return CommandResult.of();
+    }
+
+    @Override
+    public boolean isShowingMetrics() {
+        return true;
+    }
+}
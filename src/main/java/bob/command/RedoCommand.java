@@ -0,0 +1,35 @@
+package bob.command;
+
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.parser.Parser;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to redo the most recent change(s) to the task list.
+ * Takes an optional number of steps (e.g., redo 3) at once.
+ */
+public class RedoCommand extends BaseCommand {
+    private String userInput;
+    private int count;
+
+    /**
+     * Constructs a RedoCommand with the user input.
+     * @param userInput the user input string, optionally containing the number of steps
+     */
+    public RedoCommand(String userInput) {
+        this.userInput = userInput;
+    }
+
+    @Override
+    public void parse(TaskList tasks) throws BobException {
+        count = Parser.parseCount(userInput, 1);
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<String> changes = tasks.redo(count);
+        return new CommandResult(true, () -> List.of("Redid: " + String.join(", ", changes)));
+    }
+}
@@ -1,11 +1,7 @@
 package bob.command;
 
-import java.io.IOException;
-
 import bob.exception.BobException;
-import bob.storage.Storage;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
  * Command to sort tasks in the task list.
@@ -13,32 +9,13 @@ import bob.ui.Ui;
  */
 public class SortCommand extends BaseCommand {
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
-        tasks.sortTasks();
-        ui.showSortedMessage();
-        ui.showTaskList(tasks.getAllTasks());
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            throw new BobException("Could not save your sorted tasks: " + e.getMessage());
-        }
-    }
-
-    @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
+    public CommandResult execute(TaskList tasks) throws BobException {
+        long changeCount = tasks.getChangeCount();
         tasks.sortTasks();
-        try {
-            storage.save(tasks.getAllTasks());
-        } catch (IOException e) {
-            throw new BobException("Could not save your sorted tasks: " + e.getMessage());
-        }
         if (tasks.getSize() == 0) {
-            return "You have no tasks to sort yet!";
-        }
-        StringBuilder sb = new StringBuilder("Done! Tasks sorted alphabetically:\n");
-        for (int i = 0; i < tasks.getSize(); i++) {
-            sb.append((i + 1)).append(".").append(tasks.getTask(i).toString()).append("\n");
+            return CommandResult.of("You have no tasks to sort yet!");
         }
-        return sb.toString().trim();
+        return ListCommand.formatPage(tasks.getPage(1, ListCommand.DEFAULT_PAGE_SIZE),
+                "Done! Tasks sorted alphabetically:", false, tasks.getChangeCount() != changeCount);
     }
 }
@@ -0,0 +1,26 @@
+package bob.command;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.tasklist.TaskList;
+import bob.tasklist.TaskStatistics;
+
+/**
+ * Command to show statistics about the task list.
+ * Reports counts by type and status, overdue deadlines and deadlines due this week.
+ */
+public class StatsCommand extends BaseCommand {
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        TaskStatistics statistics = tasks.getStatistics(LocalDate.now());
+        return new CommandResult(false, () -> {
+            List<String> lines = new ArrayList<>(List.of("Here's how your tasks look:"));
+            lines.addAll(Arrays.asList(statistics.toLines()));
+            return lines;
+        });
+    }
+}
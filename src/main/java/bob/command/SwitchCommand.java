@@ -0,0 +1,43 @@
+package bob.command;
+
+import bob.exception.BobException;
+import bob.parser.Parser;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to switch to another named task list (e.g., switch work).
+ * Commands only see the current list, so this command just reads the name; Bob then loads the
+ * list and makes it current.
+ */
+public class SwitchCommand extends BaseCommand {
+    private String userInput;
+    private String requestedName;
+    private String workspaceName;
+
+    /**
+     * Constructs a SwitchCommand with the user input.
+     * @param userInput the user input string containing the name of the list
+     */
+    public SwitchCommand(String userInput) {
+        this.userInput = userInput;
+    }
+
+    @Override
+    public void parse(TaskList tasks) throws BobException {
+        requestedName = Parser.parseWorkspaceName(userInput);
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        if (tasks.isInTransaction()) {
+            throw new BobException("Please commit or roll back your transaction before switching lists.");
+        }
+        workspaceName = requestedName;
+        return CommandResult.of();
+    }
+
+    @Override
+    public String getWorkspaceName() {
+        return workspaceName;
+    }
+}
@@ -0,0 +1,52 @@
+package bob.command;
+
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to begin, commit or roll back a transaction around a group of commands.
+ * Changes made inside a transaction are saved once, when it is committed; rolling it back
+ * reverses them all.
+ */
+public class TransactionCommand extends BaseCommand {
+    /**
+     * The step of a transaction a TransactionCommand performs.
+     */
+    public enum Action {
+        BEGIN, COMMIT, ROLLBACK
+    }
+
+    private final Action action;
+
+    /**
+     * Constructs a TransactionCommand.
+     * @param action the step to perform
+     */
+    public TransactionCommand(Action action) {
+        this.action = action;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        switch (action) {
+        case BEGIN:
+            tasks.beginTransaction();
+            return CommandResult.of("Transaction started. Changes will be saved when you commit.");
+        case COMMIT:
+            int kept = tasks.commitTransaction();
+            return new CommandResult(kept > 0, () -> List.of("Committed " + kept + " change(s)."));
+        case ROLLBACK:
+            int reversed = tasks.rollBackTransaction();
+            return new CommandResult(true, () -> List.of("Rolled back " + reversed + " change(s)."));
+        default:
+            throw new AssertionError(action);
+        }
+    }
+
+    @Override
+    public boolean isBeginningTransaction() {
+        return action == Action.BEGIN;
+    }
+}
@@ -0,0 +1,35 @@
+package bob.command;
+
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.parser.Parser;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to undo the most recent change(s) to the task list.
+ * Takes an optional number of steps (e.g., undo 3) at once.
+ */
+public class UndoCommand extends BaseCommand {
+    private String userInput;
+    private int count;
+
+    /**
+     * Constructs an UndoCommand with the user input.
+     * @param userInput the user input string, optionally containing the number of steps
+     */
+    public UndoCommand(String userInput) {
+        this.userInput = userInput;
+    }
+
+    @Override
+    public void parse(TaskList tasks) throws BobException {
+        count = Parser.parseCount(userInput, 1);
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<String> changes = tasks.undo(count);
+        return new CommandResult(true, () -> List.of("Undid: " + String.join(", ", changes)));
+    }
+}
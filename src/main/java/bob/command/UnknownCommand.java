@@ -1,9 +1,7 @@
 package bob.command;
 
 import bob.exception.BobException;
-import bob.storage.Storage;
 import bob.tasklist.TaskList;
-import bob.ui.Ui;
 
 /**
  * Command for unrecognized user input.
@@ -11,14 +9,9 @@ import bob.ui.Ui;
  */
 public class UnknownCommand extends BaseCommand {
     @Override
-    public void execute(TaskList tasks, Ui ui, Storage storage) throws BobException {
+    public CommandResult execute(TaskList tasks) throws BobException {
         throw new BobException("I don't understand that command.\n"
-                + "Try: list, todo, deadline, event, mark, unmark, delete, find, sort, bye");
-    }
-
-    @Override
-    public String executeForGui(TaskList tasks, Storage storage) throws BobException {
-        throw new BobException("I don't understand that command.\n"
-                + "Try: list, todo, deadline, event, mark, unmark, delete, find, sort, bye");
+                + "Try: list, todo, deadline, event, mark, unmark, delete, find, sort, upcoming, conflicts, stats, "
+                + "undo, redo, begin, commit, rollback, switch, metrics, bye");
     }
 }
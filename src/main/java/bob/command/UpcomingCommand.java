@@ -0,0 +1,40 @@
+package bob.command;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import bob.exception.BobException;
+import bob.parser.Parser;
+import bob.task.Task;
+import bob.tasklist.TaskList;
+
+/**
+ * Command to show the next deadlines and events that are not done yet.
+ * Takes an optional count (e.g., upcoming 3); shows five tasks by default.
+ */
+public class UpcomingCommand extends BaseCommand {
+    private static final int DEFAULT_COUNT = 5;
+
+    private String userInput;
+    private int count;
+
+    /**
+     * Constructs an UpcomingCommand with the user input.
+     * @param userInput the user input string, optionally containing the number of tasks to show
+     */
+    public UpcomingCommand(String userInput) {
+        this.userInput = userInput;
+    }
+
+    @Override
+    public void parse(TaskList tasks) throws BobException {
+        count = Parser.parseCount(userInput, DEFAULT_COUNT);
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks) throws BobException {
+        List<Task> upcoming = tasks.findUpcomingTasks(LocalDate.now(), count);
+        return CommandResult.ofNumbered("Here's what's coming up:", "Nothing coming up. Enjoy the free time!",
+                upcoming);
+    }
+}
@@ -0,0 +1,57 @@
+package bob.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning one phase (parse or execute) of running a command.
+ */
+@Name("bob.Command")
+@Label("Command Phase")
+@Category({"Bob", "Commands"})
+@Description("Parsing or executing one user command")
+@StackTrace(false)
+public class CommandEvent extends jdk.jfr.Event {
+    @Label("Command")
+    @Description("The kind of command, e.g., Mark")
+    public String command;
+
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * Starts timing a phase, if events are enabled.
+     *
+     * @param phase the phase being timed
+     * @return the started event, or null if events are disabled
+     */
+    public static CommandEvent start(CommandMetrics.Phase phase) {
+        if (!FlightRecorderEvents.IS_ENABLED) {
+            return null;
+        }
+        CommandEvent event = new CommandEvent();
+        event.phase = phase.name().toLowerCase();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a phase started with start and records it if a recording wants it.
+     *
+     * @param event the event returned by start, possibly null
+     * @param command the kind of command, known once parsing is done
+     */
+    public static void finish(CommandEvent event, String command) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package bob.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency and allocation figures for each phase of running each kind of command.
+ * Every phase is timed with System.nanoTime into a LatencyHistogram. Where the JVM supports it,
+ * the bytes the thread allocated during the phase are counted too.
+ * Recording costs two clock reads and a couple of array updates per phase, so it is always on.
+ */
+public class CommandMetrics {
+    /**
+     * The phases a command goes through.
+     */
+    public enum Phase {
+        PARSE, EXECUTE, RENDER, SAVE
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = findAllocationBean();
+
+    private final Map<String, Map<Phase, PhaseStats>> statsByCommand = new TreeMap<>();
+
+    /**
+     * Gets the bytes the current thread has allocated so far, for measuring a phase's allocations.
+     *
+     * @return the allocated bytes, or -1 if the JVM cannot count them
+     */
+    public static long getAllocatedBytes() {
+        return ALLOCATION_BEAN == null ? -1 : ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Records a phase that started at the given time and allocation count and has just finished.
+     *
+     * @param command the name of the kind of command (e.g., "Mark")
+     * @param phase the phase that finished
+     * @param startNanos System.nanoTime() when the phase started
+     * @param startBytes getAllocatedBytes() when the phase started
+     */
+    public void record(String command, Phase phase, long startNanos, long startBytes) {
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = startBytes < 0 ? -1 : getAllocatedBytes() - startBytes;
+        statsByCommand.computeIfAbsent(command, c -> new EnumMap<>(Phase.class))
+                .computeIfAbsent(phase, p -> new PhaseStats())
+                .record(nanos, bytes);
+    }
+
+    /**
+     * Formats the figures as a table with one row per command and phase, in microseconds.
+     * The command column is as wide as the longest command name, so the other columns line up.
+     *
+     * @return the report lines, starting with a header, or a single line if nothing was recorded
+     */
+    public List<String> toLines() {
+        if (statsByCommand.isEmpty()) {
+            return List.of("No commands timed yet.");
+        }
+        int nameWidth = "command".length();
+        for (String command : statsByCommand.keySet()) {
+            nameWidth = Math.max(nameWidth, command.length());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-" + nameWidth + "s %-8s %7s %9s %9s %9s %9s %11s",
+                "command", "phase", "count", "p50 us", "p90 us", "p99 us", "max us", "avg bytes"));
+        for (Map.Entry<String, Map<Phase, PhaseStats>> entry : statsByCommand.entrySet()) {
+            for (Map.Entry<Phase, PhaseStats> phase : entry.getValue().entrySet()) {
+                lines.add(phase.getValue().format(entry.getKey(), nameWidth, phase.getKey()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the report to a file, replacing what was there.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void dumpTo(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, toLines(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the JVM's per-thread allocation counter, if it has one and it is enabled.
+     *
+     * @return the bean, or null if allocations cannot be counted
+     */
+    private static com.sun.management.ThreadMXBean findAllocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        return allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()
+                ? allocationBean : null;
+    }
+
+    /**
+     * The figures for one phase of one kind of command.
+     */
+    private static class PhaseStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long totalBytes;
+        private long measuredCount;
+
+        /**
+         * Records one run of the phase.
+         *
+         * @param nanos how long it took
+         * @param bytes how much it allocated, or -1 if unknown
+         */
+        private void record(long nanos, long bytes) {
+            latency.record(nanos);
+            if (bytes >= 0) {
+                totalBytes += bytes;
+                measuredCount++;
+            }
+        }
+
+        /**
+         * Formats the figures as one row of the report.
+         *
+         * @param command the name of the command
+         * @param nameWidth the width of the command column
+         * @param phase the phase
+         * @return the row
+         */
+        private String format(String command, int nameWidth, Phase phase) {
+            StringBuilder row = new StringBuilder(String.format("%-" + nameWidth + "s %-8s %7d", command,
+                    phase.name().toLowerCase(), latency.getCount()));
+            for (double percentile : PERCENTILES) {
+                row.append(String.format(" %9.1f", latency.getPercentileNanos(percentile) / 1000.0));
+            }
+            row.append(String.format(" %9.1f", latency.getMaxNanos() / 1000.0));
+            row.append(measuredCount == 0 ? String.format(" %11s", "-")
+                    : String.format(" %11d", totalBytes / measuredCount));
+            return row.toString();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package bob.metrics;
+
+/**
+ * Whether Bob emits its Java Flight Recorder events, set at startup with -Dbob.jfr=true.
+ * Events are only recorded while a recording is running (e.g., started with
+ * -XX:StartFlightRecording or jcmd JFR.start). When the flag is off no event objects are created,
+ * and the check is a constant the JIT compiles away.
+ */
+public class FlightRecorderEvents {
+    /** True if events should be created and committed. */
+    public static final boolean IS_ENABLED = Boolean.getBoolean("bob.jfr");
+
+    private FlightRecorderEvents() {
+    }
+}
@@ -0,0 +1,100 @@
+package bob.metrics;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, for reporting percentiles cheaply.
+ * Values are counted in buckets that split each power of two into eight, so recording is a few
+ * bit operations and an array increment, and a reported percentile is within 12.5% of the true value.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long totalCount;
+    private long maxNanos;
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are counted as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[getBucket(value)]++;
+        totalCount++;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    /**
+     * Gets the number of durations recorded.
+     *
+     * @return the count
+     */
+    long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the longest duration recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Estimates the duration below which the given fraction of the recorded durations fall.
+     *
+     * @param fraction the fraction, from 0 to 1 (e.g., 0.99 for the 99th percentile)
+     * @return the upper bound of the bucket holding that percentile, at most the maximum,
+     *         or 0 if nothing was recorded
+     */
+    long getPercentileNanos(double fraction) {
+        assert fraction >= 0 && fraction <= 1 : "Percentiles must be between 0 and 1";
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * totalCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(getUpperBound(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Finds the bucket counting a value.
+     * Values below eight get a bucket each; above that, the top four bits pick the bucket.
+     *
+     * @param value the non-negative value
+     * @return the bucket index
+     */
+    static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the bucket's inclusive upper bound
+     */
+    static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
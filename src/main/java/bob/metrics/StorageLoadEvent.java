@@ -0,0 +1,70 @@
+package bob.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning the loading of one task file.
+ */
+@Name("bob.StorageLoad")
+@Label("Task File Load")
+@Category({"Bob", "Storage"})
+@Description("Reading and parsing a task file")
+@StackTrace(false)
+public class StorageLoadEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytesRead;
+
+    @Label("Lines Parsed")
+    @Description("Tasks read successfully")
+    public int linesParsed;
+
+    @Label("Corrupted Lines Skipped")
+    public int corruptedLinesSkipped;
+
+    /**
+     * Starts timing a load, if events are enabled.
+     *
+     * @return the started event, or null if events are disabled
+     */
+    public static StorageLoadEvent start() {
+        if (!FlightRecorderEvents.IS_ENABLED) {
+            return null;
+        }
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a load started with start and records it if a recording wants it.
+     *
+     * @param event the event returned by start, possibly null
+     * @param path the task file
+     * @param bytesRead the size of the file
+     * @param linesParsed the number of tasks read
+     * @param corruptedLinesSkipped the number of non-blank lines that could not be read
+     */
+    public static void finish(StorageLoadEvent event, String path, long bytesRead, int linesParsed,
+            int corruptedLinesSkipped) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.bytesRead = bytesRead;
+            event.linesParsed = linesParsed;
+            event.corruptedLinesSkipped = corruptedLinesSkipped;
+            event.commit();
+        }
+    }
+}
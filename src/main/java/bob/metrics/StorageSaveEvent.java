@@ -0,0 +1,63 @@
+package bob.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning the writing of one task file.
+ */
+@Name("bob.StorageSave")
+@Label("Task File Save")
+@Category({"Bob", "Storage"})
+@Description("Formatting and writing a task file")
+@StackTrace(false)
+public class StorageSaveEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Tasks Written")
+    public int tasksWritten;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+
+    /**
+     * Starts timing a save, if events are enabled.
+     *
+     * @return the started event, or null if events are disabled
+     */
+    public static StorageSaveEvent start() {
+        if (!FlightRecorderEvents.IS_ENABLED) {
+            return null;
+        }
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends a save started with start and records it if a recording wants it.
+     *
+     * @param event the event returned by start, possibly null
+     * @param path the task file
+     * @param tasksWritten the number of tasks written
+     * @param bytesWritten the size of the file written
+     */
+    public static void finish(StorageSaveEvent event, String path, int tasksWritten, long bytesWritten) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.tasksWritten = tasksWritten;
+            event.bytesWritten = bytesWritten;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package bob.parser;
+
+import java.util.function.Function;
+
+import bob.command.BaseCommand;
+
+/**
+ * A case-insensitive trie from command words to the factories that build their commands.
+ * Besides each full command name and its aliases, any prefix of at least three letters that
+ * starts only one command's name (e.g., "dea" for deadline) finds that command.
+ * Looking up a word walks the trie character by character, so it never copies the word and
+ * an unknown word simply finds nothing.
+ */
+class CommandTable {
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private final Node root = new Node();
+
+    /**
+     * Adds a command under its name and aliases.
+     * Names and aliases must be made of the letters a to z.
+     *
+     * @param name the full command name
+     * @param factory the factory building the command from the user input
+     * @param aliases other words for the command (e.g., "dl" for deadline)
+     */
+    void add(String name, Function<String, BaseCommand> factory, String... aliases) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrAddChild(name.charAt(i));
+            if (i + 1 >= MIN_PREFIX_LENGTH) {
+                node.addPrefixOf(factory);
+            }
+        }
+        node.exact = factory;
+        for (String alias : aliases) {
+            node = root;
+            for (int i = 0; i < alias.length(); i++) {
+                node = node.getOrAddChild(alias.charAt(i));
+            }
+            node.exact = factory;
+        }
+    }
+
+    /**
+     * Finds the command for a word within a piece of text, ignoring case.
+     * A full name or alias is preferred over a prefix of a longer name.
+     *
+     * @param text the text holding the word
+     * @param start the start of the word
+     * @param end the end of the word, exclusive
+     * @return the command factory, or null if the word is not a command, alias or unique prefix
+     */
+    Function<String, BaseCommand> find(CharSequence text, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.getChild(text.charAt(i));
+        }
+        if (node == null) {
+            return null;
+        }
+        return node.exact != null ? node.exact : node.prefixOf;
+    }
+
+    /**
+     * A trie node for one letter of a command word.
+     */
+    private static class Node {
+        private final Node[] children = new Node[26];
+        private Function<String, BaseCommand> exact;
+        private Function<String, BaseCommand> prefixOf;
+        private boolean isSharedPrefix;
+
+        /**
+         * Gets the child for a letter, ignoring case.
+         *
+         * @param c the letter
+         * @return the child, or null if there is none or c is not a letter from a to z
+         */
+        private Node getChild(char c) {
+            int slot = Character.toLowerCase(c) - 'a';
+            return slot >= 0 && slot < children.length ? children[slot] : null;
+        }
+
+        /**
+         * Gets the child for a letter, adding it if needed.
+         *
+         * @param c the lowercase letter
+         * @return the child
+         */
+        private Node getOrAddChild(char c) {
+            int slot = c - 'a';
+            assert slot >= 0 && slot < children.length : "Command words must use the letters a to z";
+            if (children[slot] == null) {
+                children[slot] = new Node();
+            }
+            return children[slot];
+        }
+
+        /**
+         * Records that this node's word starts the given command's name.
+         * A prefix shared by two commands is ambiguous and finds neither.
+         *
+         * @param factory the command's factory
+         */
+        private void addPrefixOf(Function<String, BaseCommand> factory) {
+            if (isSharedPrefix) {
+                return;
+            }
+            if (prefixOf == null) {
+                prefixOf = factory;
+            } else if (prefixOf != factory) {
+                prefixOf = null;
+                isSharedPrefix = true;
+            }
+        }
+    }
+}
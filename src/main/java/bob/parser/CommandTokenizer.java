@@ -0,0 +1,187 @@
+package bob.parser;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import bob.command.BaseCommand;
+
+/**
+ * A single left-to-right scan of a command line that records where the command word, the
+ * second word and each " /flag " marker begin and end.
+ * Fields are then read by position, so parsing needs no regex, split arrays or case-converted
+ * copies; only the final field values are copied out of the input.
+ */
+class CommandTokenizer {
+    private final String input;
+    private final String[] flags;
+    private final int[] flagStarts;
+    private final int commandEnd;
+    private final int secondWordStart;
+    private final int secondWordEnd;
+
+    /**
+     * Scans a command line.
+     * Each flag is found by its first occurrence after the command word, written as " /flag ".
+     *
+     * @param input the command line
+     * @param flags the flags to look for, without the slash (e.g., "by")
+     */
+    CommandTokenizer(String input, String... flags) {
+        this.input = input;
+        this.flags = flags;
+        this.flagStarts = new int[flags.length];
+        Arrays.fill(flagStarts, -1);
+
+        int length = input.length();
+        int i = 0;
+        while (i < length && input.charAt(i) != ' ') {
+            i++;
+        }
+        commandEnd = i;
+        while (i < length && input.charAt(i) == ' ') {
+            i++;
+        }
+        secondWordStart = i;
+        while (i < length && input.charAt(i) != ' ') {
+            i++;
+        }
+        secondWordEnd = i;
+
+        for (int j = commandEnd; j + 2 < length; j++) {
+            if (input.charAt(j) == ' ' && input.charAt(j + 1) == '/') {
+                recordFlag(j);
+            }
+        }
+    }
+
+    /**
+     * Records a flag starting at the given space if it is one of the flags looked for.
+     *
+     * @param space the position of the space before the slash
+     */
+    private void recordFlag(int space) {
+        for (int k = 0; k < flags.length; k++) {
+            int nameStart = space + 2;
+            int nameEnd = nameStart + flags[k].length();
+            if (flagStarts[k] < 0 && nameEnd < input.length() && input.charAt(nameEnd) == ' '
+                    && input.regionMatches(nameStart, flags[k], 0, flags[k].length())) {
+                flagStarts[k] = space;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Looks up the command word in a command table.
+     *
+     * @param commands the table of known commands
+     * @return the command factory, or null if the word is not a known command
+     */
+    Function<String, BaseCommand> findCommand(CommandTable commands) {
+        return commands.find(input, 0, commandEnd);
+    }
+
+    /**
+     * Checks if a flag is present.
+     *
+     * @param flag the position of the flag in the list given to the constructor
+     * @return true if the flag was found
+     */
+    boolean hasFlag(int flag) {
+        return flagStarts[flag] >= 0;
+    }
+
+    /**
+     * Gets the text between the command word and the first flag, trimmed.
+     *
+     * @return the description, possibly empty
+     */
+    String getDescription() {
+        return slice(commandEnd, nextBoundary(commandEnd - 1));
+    }
+
+    /**
+     * Gets the text after a flag, up to the next flag or the end of the line, trimmed.
+     *
+     * @param flag the position of the flag in the list given to the constructor
+     * @return the flag's value, possibly empty, or null if the flag is absent
+     */
+    String getFlagValue(int flag) {
+        int start = flagStarts[flag];
+        if (start < 0) {
+            return null;
+        }
+        int valueStart = start + 2 + flags[flag].length();
+        return slice(valueStart, nextBoundary(start));
+    }
+
+    /**
+     * Gets everything after the command word, trimmed.
+     *
+     * @return the arguments, possibly empty
+     */
+    String getArguments() {
+        return slice(commandEnd, input.length());
+    }
+
+    /**
+     * Gets the word after the command word.
+     *
+     * @return the second word, or an empty string if there is none
+     */
+    String getSecondWord() {
+        return input.substring(secondWordStart, secondWordEnd);
+    }
+
+    /**
+     * Finds where a field ends: at the first flag after the given position, or the end of the line.
+     *
+     * @param position the position to look after
+     * @return the end of the field
+     */
+    private int nextBoundary(int position) {
+        int end = input.length();
+        for (int start : flagStarts) {
+            if (start > position && start < end) {
+                end = start;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Copies part of the input with surrounding whitespace left out.
+     *
+     * @param start the start of the part
+     * @param end the end of the part, exclusive
+     * @return the trimmed part
+     */
+    private String slice(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return input.substring(start, end);
+    }
+
+    /**
+     * Parses a whole number from part of a string without copying it, ignoring surrounding whitespace.
+     *
+     * @param text the text holding the number
+     * @param start the start of the number
+     * @param end the end of the number, exclusive
+     * @return the number
+     * @throws NumberFormatException if the part is not a whole number
+     */
+    static int parseInt(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return Integer.parseInt(text, start, end, 10);
+    }
+}
@@ -3,34 +3,59 @@ package bob.parser;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import bob.command.AddDeadlineCommand;
 import bob.command.AddEventCommand;
 import bob.command.AddTodoCommand;
 import bob.command.BaseCommand;
-import bob.command.CommandType;
+import bob.command.ConflictsCommand;
 import bob.command.DeleteCommand;
 import bob.command.ExitCommand;
 import bob.command.FindCommand;
 import bob.command.ListCommand;
 import bob.command.MarkCommand;
+import bob.command.MetricsCommand;
+import bob.command.RedoCommand;
 import bob.command.SortCommand;
+import bob.command.StatsCommand;
+import bob.command.SwitchCommand;
+import bob.command.TransactionCommand;
+import bob.command.UndoCommand;
 import bob.command.UnknownCommand;
 import bob.command.UnmarkCommand;
+import bob.command.UpcomingCommand;
 import bob.exception.BobException;
+import bob.storage.WorkspaceCache;
 import bob.task.Deadline;
 import bob.task.Event;
+import bob.task.Recurrence;
 import bob.task.Task;
 import bob.task.Todo;
+import bob.tasklist.TaskQuery;
 
 /**
  * Parses user input and creates appropriate command and task objects.
  * Handles command parsing, task creation, and date parsing with validation.
  */
 public class Parser {
+    private static final String[] DEADLINE_FLAGS = {"by", "every"};
+    private static final String[] EVENT_FLAGS = {"from", "to", "every"};
+    private static final int BY = 0;
+    private static final int FROM = 0;
+    private static final int TO = 1;
+    private static final int DEADLINE_EVERY = 1;
+    private static final int EVENT_EVERY = 2;
+    private static final CommandTable COMMANDS = createCommandTable();
 
     /**
      * Parses a user input string and returns the corresponding command.
+     * The command word may be written in any case, as an alias such as "dl", or shortened to
+     * any prefix of three or more letters that no other command shares.
      *
      * @param input the raw user input string
      * @return the parsed BaseCommand
@@ -41,39 +66,63 @@ public class Parser {
             throw new BobException("Please enter a command!");
         }
 
-        String firstWord = input.split(" ")[0].toUpperCase();
-        CommandType cmd;
-        try {
-            cmd = CommandType.valueOf(firstWord);
-        } catch (IllegalArgumentException e) {
-            cmd = CommandType.UNKNOWN;
-        }
-
-        switch (cmd) {
-            case TODO:
-                return new AddTodoCommand(input);
-            case DEADLINE:
-                return new AddDeadlineCommand(input);
-            case EVENT:
-                return new AddEventCommand(input);
-            case LIST:
-                return new ListCommand();
-            case MARK:
-                return new MarkCommand(input);
-            case UNMARK:
-                return new UnmarkCommand(input);
-            case DELETE:
-                return new DeleteCommand(input);
-            case FIND:
-                return new FindCommand(input);
-            case SORT:
-                return new SortCommand();
-            case BYE:
-                return new ExitCommand();
-            case UNKNOWN:
-            default:
-                return new UnknownCommand();
+        Function<String, BaseCommand> factory = new CommandTokenizer(input).findCommand(COMMANDS);
+        return factory == null ? new UnknownCommand() : factory.apply(input);
+    }
+
+    /**
+     * Builds the table of commands with their aliases.
+     *
+     * @return the command table
+     */
+    private static CommandTable createCommandTable() {
+        CommandTable commands = new CommandTable();
+        commands.add("todo", AddTodoCommand::new, "td");
+        commands.add("deadline", AddDeadlineCommand::new, "dl");
+        commands.add("event", AddEventCommand::new, "ev");
+        commands.add("list", ListCommand::new, "ls");
+        commands.add("mark", MarkCommand::new);
+        commands.add("unmark", UnmarkCommand::new);
+        commands.add("delete", DeleteCommand::new, "rm");
+        commands.add("find", FindCommand::new);
+        commands.add("sort", input -> new SortCommand());
+        commands.add("upcoming", UpcomingCommand::new);
+        commands.add("conflicts", input -> new ConflictsCommand());
+        commands.add("stats", input -> new StatsCommand());
+        commands.add("undo", UndoCommand::new);
+        commands.add("redo", RedoCommand::new);
+        commands.add("switch", SwitchCommand::new);
+        commands.add("begin", input -> new TransactionCommand(TransactionCommand.Action.BEGIN));
+        commands.add("commit", input -> new TransactionCommand(TransactionCommand.Action.COMMIT));
+        commands.add("rollback", input -> new TransactionCommand(TransactionCommand.Action.ROLLBACK));
+        commands.add("metrics", input -> new MetricsCommand());
+        commands.add("bye", input -> new ExitCommand(), "exit", "quit");
+        return commands;
+    }
+
+    /**
+     * Splits an input line into the commands separated by ';' (e.g., "todo a; todo b; mark 1").
+     * A ';' inside double quotes, as in a find phrase, does not separate commands.
+     *
+     * @param input the input line
+     * @return the commands in order, trimmed, leaving out empty ones
+     */
+    public static List<String> splitCommands(String input) {
+        List<String> commands = new ArrayList<>();
+        boolean isQuoted = false;
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            if (i < input.length() && (input.charAt(i) != ';' || isQuoted)) {
+                isQuoted ^= input.charAt(i) == '"';
+                continue;
+            }
+            String command = input.substring(start, i).trim();
+            if (!command.isEmpty()) {
+                commands.add(command);
+            }
+            start = i + 1;
         }
+        return commands;
     }
 
     /**
@@ -84,10 +133,7 @@ public class Parser {
      * @throws BobException if the description is empty
      */
     public static Task parseAddTodo(String input) throws BobException {
-        if (input.trim().length() <= 4) {
-            throw new BobException("The description of a todo cannot be empty. What needs to be done?");
-        }
-        String description = input.substring(5).trim();
+        String description = new CommandTokenizer(input).getArguments();
         if (description.isEmpty()) {
             throw new BobException("The description of a todo cannot be empty. What needs to be done?");
         }
@@ -97,44 +143,66 @@ public class Parser {
     /**
      * Parses a deadline command and creates a Deadline task.
      *
-     * @param input the deadline command string (format: deadline &lt;desc&gt; /by &lt;date&gt;)
+     * @param input the deadline command string
+     *     (format: deadline &lt;desc&gt; /by &lt;date&gt; [/every daily|weekly|monthly])
      * @return a new Deadline task
-     * @throws BobException if the /by part is missing or description/date is empty
+     * @throws BobException if the /by part is missing, description/date is empty or the recurrence is invalid
      */
     public static Task parseAddDeadline(String input) throws BobException {
-        if (!input.contains(" /by ")) {
+        CommandTokenizer tokens = new CommandTokenizer(input, DEADLINE_FLAGS);
+        if (!tokens.hasFlag(BY)) {
             throw new BobException("A deadline must have a /by part! Try: deadline <description> /by <yyyy-MM-dd>");
         }
-        String[] parts = input.substring(9).split(" /by ");
-        if (parts.length < 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+        String description = tokens.getDescription();
+        String by = tokens.getFlagValue(BY);
+        if (description.isEmpty() || by.isEmpty()) {
             throw new BobException("The description and date of a deadline cannot be empty!");
         }
-        try {
-            return new Deadline(parts[0].trim(), parts[1].trim());
-        } catch (IllegalArgumentException e) {
-            throw new BobException(e.getMessage());
-        }
+        return new Deadline(description, parseDate(by), parseRecurrence(tokens.getFlagValue(DEADLINE_EVERY)));
     }
 
     /**
      * Parses an event command and creates an Event task.
      *
-     * @param input the event command string (format: event &lt;desc&gt; /from &lt;date&gt; /to &lt;date&gt;)
+     * @param input the event command string
+     *     (format: event &lt;desc&gt; /from &lt;date&gt; /to &lt;date&gt; [/every daily|weekly|monthly])
      * @return a new Event task
-     * @throws BobException if /from or /to parts are missing or description/dates are empty
+     * @throws BobException if /from or /to parts are missing, description/dates are empty or the recurrence
+     *     is invalid
      */
-    public static Task parseAddEvent(String input) throws BobException {
-        if (!input.contains(" /from ") || !input.contains(" /to ")) {
+    public static Event parseAddEvent(String input) throws BobException {
+        CommandTokenizer tokens = new CommandTokenizer(input, EVENT_FLAGS);
+        if (!tokens.hasFlag(FROM) || !tokens.hasFlag(TO)) {
             throw new BobException("An event must have both /from and /to parts! "
                     + "Try: event <description> /from <yyyy-MM-dd> /to <yyyy-MM-dd>");
         }
-        String[] parts = input.substring(6).split(" /from | /to ");
-        if (parts.length < 3 || parts[0].trim().isEmpty() 
-                || parts[1].trim().isEmpty() || parts[2].trim().isEmpty()) {
+        String description = tokens.getDescription();
+        String from = tokens.getFlagValue(FROM);
+        String to = tokens.getFlagValue(TO);
+        if (description.isEmpty() || from.isEmpty() || to.isEmpty()) {
             throw new BobException("The description, from date, and to date cannot be empty!");
         }
+        Recurrence recurrence = parseRecurrence(tokens.getFlagValue(EVENT_EVERY));
+        try {
+            return new Event(description, parseDate(from), parseDate(to), recurrence);
+        } catch (IllegalArgumentException e) {
+            throw new BobException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the optional /every part of a deadline or event command.
+     *
+     * @param value the text after /every, or null if the command has no /every part
+     * @return the recurrence, or null if the command has no /every part
+     * @throws BobException if the recurrence is not daily, weekly or monthly
+     */
+    private static Recurrence parseRecurrence(String value) throws BobException {
+        if (value == null) {
+            return null;
+        }
         try {
-            return new Event(parts[0].trim(), parts[1].trim(), parts[2].trim());
+            return Recurrence.parse(value);
         } catch (IllegalArgumentException e) {
             throw new BobException(e.getMessage());
         }
@@ -149,24 +217,383 @@ public class Parser {
      * @throws BobException if the index is missing or not a valid number
      */
     public static int parseTaskIndex(String input) throws BobException {
-        String[] parts = input.split(" ");
-        if (parts.length < 2) {
+        String word = new CommandTokenizer(input).getSecondWord();
+        if (word.isEmpty()) {
             throw new BobException("Please specify a task number! (e.g., mark 1)");
         }
+        int taskNumber = parseTaskNumber(word, 0, word.length());
+        int zeroBasedIndex = taskNumber - 1;
+        // Assert that conversion from 1-based to 0-based indexing is correct
+        assert zeroBasedIndex == taskNumber - 1 : "Index conversion must be correct";
+        return zeroBasedIndex;
+    }
+
+    /**
+     * Parses one or more task numbers from a command string.
+     * Accepts a single number (mark 1), a range (mark 1-500), a comma-separated list (delete 3,7,9),
+     * any mix of these (delete 1-3,7), or "all".
+     * Converts from 1-based (user input) to 0-based (internal) indexing.
+     *
+     * @param input the command string containing the task numbers
+     * @param taskCount the number of tasks in the list
+     * @return the distinct 0-based task indices in ascending order
+     * @throws BobException if the numbers are missing, malformed or outside the list
+     */
+    public static int[] parseTaskIndices(String input, int taskCount) throws BobException {
+        String spec = new CommandTokenizer(input).getArguments();
+        if (spec.isEmpty()) {
+            throw new BobException("Please specify a task number! (e.g., mark 1)");
+        }
+        if (spec.equalsIgnoreCase("all")) {
+            if (taskCount == 0) {
+                throw new BobException("Your task list is empty! Time to add some tasks.");
+            }
+            return IntStream.range(0, taskCount).toArray();
+        }
+
+        BitSet selected = new BitSet();
+        for (int start = 0; start <= spec.length(); ) {
+            int end = spec.indexOf(',', start);
+            if (end < 0) {
+                end = spec.length();
+            }
+            int dashIndex = indexOf(spec, '-', start + 1, end);
+            int first = parseTaskNumber(spec, start, dashIndex < 0 ? end : dashIndex);
+            int last = dashIndex < 0 ? first : parseTaskNumber(spec, dashIndex + 1, end);
+            start = end + 1;
+            if (first > last) {
+                throw new BobException("A range must go from low to high! (e.g., mark 1-5)");
+            }
+            if (last > taskCount) {
+                throw new BobException("That task number doesn't exist in your list. "
+                        + "You have " + taskCount + " task(s).");
+            }
+            selected.set(first - 1, last);
+        }
+        return selected.stream().toArray();
+    }
+
+    /**
+     * Checks if a command addresses tasks by stable ID (e.g., mark #12) rather than by list number.
+     *
+     * @param input the command string
+     * @return true if the argument starts with '#'
+     */
+    public static boolean isIdSelection(String input) {
+        return new CommandTokenizer(input).getSecondWord().startsWith("#");
+    }
+
+    /**
+     * Parses one or more stable task IDs from a command string (e.g., "delete #12" or "mark #3,#7").
+     *
+     * @param input the command string containing the IDs
+     * @return the distinct task IDs in ascending order
+     * @throws BobException if an ID is missing or malformed
+     */
+    public static int[] parseTaskIds(String input) throws BobException {
+        String spec = new CommandTokenizer(input).getArguments();
+        BitSet ids = new BitSet();
+        for (int start = 0; start <= spec.length(); ) {
+            int end = spec.indexOf(',', start);
+            if (end < 0) {
+                end = spec.length();
+            }
+            int hash = start;
+            while (hash < end && spec.charAt(hash) == ' ') {
+                hash++;
+            }
+            if (hash == end || spec.charAt(hash) != '#') {
+                throw new BobException("Task IDs start with '#'! (e.g., mark #12 or delete #3,#7)");
+            }
+            ids.set(parseTaskNumber(spec, hash + 1, end));
+            start = end + 1;
+        }
+        return ids.stream().toArray();
+    }
+
+    /**
+     * Finds a character within part of a string.
+     *
+     * @param text the text to search
+     * @param c the character to find
+     * @param start the start of the part
+     * @param end the end of the part, exclusive
+     * @return the position of the character, or -1 if it is not in the part
+     */
+    private static int indexOf(String text, char c, int start, int end) {
+        int index = text.indexOf(c, start);
+        return index < end ? index : -1;
+    }
+
+    /**
+     * Parses a single 1-based task number from part of a string.
+     *
+     * @param text the text holding the number
+     * @param start the start of the number
+     * @param end the end of the number, exclusive
+     * @return the task number
+     * @throws BobException if the text is not a positive number
+     */
+    private static int parseTaskNumber(String text, int start, int end) throws BobException {
         try {
-            int taskNumber = Integer.parseInt(parts[1]);
+            int taskNumber = CommandTokenizer.parseInt(text, start, end);
             if (taskNumber <= 0) {
                 throw new BobException("Task numbers must be positive! Try a number like 1, 2, 3...");
             }
-            int zeroBasedIndex = taskNumber - 1;
-            // Assert that conversion from 1-based to 0-based indexing is correct
-            assert zeroBasedIndex == taskNumber - 1 : "Index conversion must be correct";
-            return zeroBasedIndex;
+            return taskNumber;
         } catch (NumberFormatException e) {
             throw new BobException("That doesn't look like a valid number! Please use digits (e.g., 1, 2, 3).");
         }
     }
 
+    /**
+     * Parses an optional positive count following the command word, such as the 3 in "upcoming 3".
+     *
+     * @param input the command string
+     * @param defaultValue the value to return if no count is given
+     * @return the parsed count, or defaultValue if none is given
+     * @throws BobException if the count is not a positive number
+     */
+    public static int parseCount(String input, int defaultValue) throws BobException {
+        String count = new CommandTokenizer(input).getArguments();
+        return count.isEmpty() ? defaultValue : parseTaskNumber(count, 0, count.length());
+    }
+
+    /**
+     * Extracts everything after the command word with a "/flag N" option left out wherever it appears,
+     * such as the query "meeting notes" in "find meeting /top 5 notes".
+     *
+     * @param input the command string
+     * @param flag the flag to leave out together with the word after it (e.g., "/top")
+     * @return the remaining arguments, possibly empty
+     */
+    public static String parseArgumentsWithoutOption(String input, String flag) {
+        assert flag.startsWith("/") : "Flags start with a slash";
+        CommandTokenizer tokenizer = new CommandTokenizer(input, flag.substring(1));
+        if (!tokenizer.hasFlag(0)) {
+            return tokenizer.getArguments();
+        }
+        String before = tokenizer.getDescription();
+        String value = tokenizer.getFlagValue(0);
+        int valueEnd = value.indexOf(' ');
+        String after = valueEnd < 0 ? "" : value.substring(valueEnd + 1).trim();
+        if (before.isEmpty() || after.isEmpty()) {
+            return before + after;
+        }
+        return before + " " + after;
+    }
+
+    /**
+     * Parses an optional positive number given after a flag, such as "/page 2" in "list /page 2".
+     *
+     * @param input the command string
+     * @param commandWord the command the flag belongs to, for the usage hint (e.g., "list")
+     * @param flag the flag preceding the number (e.g., "/page")
+     * @param defaultValue the value to return if the flag is absent
+     * @return the parsed number, or defaultValue if the flag is absent
+     * @throws BobException if the flag has no value or the value is not a positive number
+     */
+    public static int parsePositiveOption(String input, String commandWord, String flag, int defaultValue)
+            throws BobException {
+        int flagIndex = (input + " ").indexOf(" " + flag + " ");
+        if (flagIndex < 0) {
+            return defaultValue;
+        }
+        String rest = input.substring(flagIndex + flag.length() + 1).trim();
+        int end = rest.indexOf(' ');
+        String value = end < 0 ? rest : rest.substring(0, end);
+        if (value.isEmpty()) {
+            throw new BobException("Please give a number after " + flag + "! (e.g., "
+                    + commandWord + " " + flag + " 2)");
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number <= 0) {
+                throw new BobException("The number after " + flag + " must be positive!");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new BobException("That doesn't look like a valid number after " + flag + "!");
+        }
+    }
+
+    /**
+     * Parses a search query into a TaskQuery.
+     * Supports filters (type:todo|deadline|event, done:true|false, before:DATE, after:DATE, on:DATE,
+     * tag:TAG[,TAG...] matching any of the tags), plain words, quoted phrases, exclusions prefixed with '-'
+     * (e.g., -draft or -"weekly sync"), typo-tolerant words prefixed with '~' (e.g., ~meetng)
+     * and tags prefixed with '#' (e.g., #urgent).
+     * All parts of the query must match.
+     *
+     * @param queryText the query text, without the command word
+     * @return the parsed query
+     * @throws BobException if the query is empty or a filter value is invalid
+     */
+    public static TaskQuery parseQuery(String queryText) throws BobException {
+        TaskQuery query = new TaskQuery();
+        int length = queryText.length();
+        int i = 0;
+        while (i < length) {
+            if (queryText.charAt(i) == ' ') {
+                i++;
+                continue;
+            }
+            boolean isExcluded = queryText.charAt(i) == '-' && i + 1 < length && queryText.charAt(i + 1) != ' ';
+            if (isExcluded) {
+                i++;
+            }
+            if (queryText.charAt(i) == '"') {
+                int closingQuote = queryText.indexOf('"', i + 1);
+                if (closingQuote < 0) {
+                    throw new BobException("Your search has an opening quote but no closing quote!");
+                }
+                addTextCondition(query, queryText.substring(i + 1, closingQuote), isExcluded);
+                i = closingQuote + 1;
+                continue;
+            }
+            int end = queryText.indexOf(' ', i);
+            if (end < 0) {
+                end = length;
+            }
+            String token = queryText.substring(i, end);
+            i = end;
+            if (!isExcluded && token.length() > 1 && token.charAt(0) == '~') {
+                query.requireSimilarWord(token.substring(1));
+                continue;
+            }
+            if (!isExcluded && token.length() > 1 && token.charAt(0) == '#') {
+                query.requireAnyTag(List.of(token.substring(1)));
+                continue;
+            }
+            int colon = token.indexOf(':');
+            if (isExcluded || colon <= 0 || !addFilterCondition(query, token.substring(0, colon),
+                    token.substring(colon + 1))) {
+                addTextCondition(query, token, isExcluded);
+            }
+        }
+        if (query.isEmpty()) {
+            throw new BobException("Please provide a keyword to search for! (e.g., find book)");
+        }
+        return query;
+    }
+
+    /**
+     * Adds a word or phrase condition to a query.
+     *
+     * @param query the query to add to
+     * @param text the word or phrase
+     * @param isExcluded true if matching tasks should be left out
+     */
+    private static void addTextCondition(TaskQuery query, String text, boolean isExcluded) {
+        if (text.isBlank()) {
+            return;
+        }
+        if (isExcluded) {
+            query.excludeText(text);
+        } else {
+            query.requireText(text);
+        }
+    }
+
+    /**
+     * Adds a key:value filter condition to a query.
+     *
+     * @param query the query to add to
+     * @param key the filter name
+     * @param value the filter value
+     * @return true if the key is a known filter, false if the token should be treated as text
+     * @throws BobException if the value is invalid for the filter
+     */
+    private static boolean addFilterCondition(TaskQuery query, String key, String value) throws BobException {
+        switch (key.toLowerCase()) {
+        case "type":
+            query.requireType(parseTaskType(value));
+            return true;
+        case "done":
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new BobException("done: must be true or false! (e.g., done:false)");
+            }
+            query.requireDone(Boolean.parseBoolean(value));
+            return true;
+        case "before":
+            query.requireBefore(parseDate(value));
+            return true;
+        case "after":
+            query.requireAfter(parseDate(value));
+            return true;
+        case "on":
+            query.requireOn(parseDate(value));
+            return true;
+        case "tag":
+            query.requireAnyTag(parseTags(value));
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Parses the comma-separated tags of a tag: filter, with or without a leading '#'.
+     *
+     * @param value the filter value (e.g., urgent,#backend)
+     * @return the tags without '#'
+     * @throws BobException if no tag is given
+     */
+    private static List<String> parseTags(String value) throws BobException {
+        List<String> tags = new ArrayList<>();
+        for (String tag : value.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("#")) {
+                trimmed = trimmed.substring(1);
+            }
+            if (!trimmed.isEmpty()) {
+                tags.add(trimmed);
+            }
+        }
+        if (tags.isEmpty()) {
+            throw new BobException("tag: needs a tag name! (e.g., tag:urgent)");
+        }
+        return tags;
+    }
+
+    /**
+     * Parses a task type name used in a type: filter.
+     *
+     * @param typeName the type name (todo, deadline or event)
+     * @return the matching task class
+     * @throws BobException if the type name is unknown
+     */
+    private static Class<? extends Task> parseTaskType(String typeName) throws BobException {
+        switch (typeName.toLowerCase()) {
+        case "todo":
+            return Todo.class;
+        case "deadline":
+            return Deadline.class;
+        case "event":
+            return Event.class;
+        default:
+            throw new BobException("type: must be todo, deadline or event! (e.g., type:deadline)");
+        }
+    }
+
+    /**
+     * Parses the name of the task list to switch to.
+     *
+     * @param input the switch command string (format: switch &lt;name&gt;)
+     * @return the list name
+     * @throws BobException if the name is missing or contains characters other than letters, digits, '-' and '_'
+     */
+    public static String parseWorkspaceName(String input) throws BobException {
+        String name = new CommandTokenizer(input).getArguments();
+        if (name.isEmpty() || name.indexOf(' ') >= 0) {
+            throw new BobException("Which list do you want? Try: switch <name>");
+        }
+        if (!WorkspaceCache.isValidName(name)) {
+            throw new BobException("List names can only use letters, digits, '-' and '_' (up to 32 characters).");
+        }
+        return name;
+    }
+
     /**
      * Parses a date string in yyyy-MM-dd format to a LocalDate.
      *
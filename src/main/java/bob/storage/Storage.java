@@ -1,20 +1,29 @@
 package bob.storage;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.FileOutputStream;
-import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
+import bob.metrics.StorageLoadEvent;
+import bob.metrics.StorageSaveEvent;
+import bob.task.Recurrence;
 import bob.task.Task;
 
 /**
@@ -23,7 +32,31 @@ import bob.task.Task;
  */
 public class Storage {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int INDEX_MAGIC = 0x424F4249;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_BYTES = 24;
+
     private String filePath;
+    private long dataLength = -1;
+    private long dataChecksum;
+    private boolean isSearchIndexCurrent;
+    private boolean isDeferringSaves;
+    private boolean hasDeferredSave;
+
+    /**
+     * Writes a search index for the tasks being saved, such as TaskList.writeSearchIndex.
+     */
+    @FunctionalInterface
+    public interface IndexWriter {
+        /**
+         * Writes the index.
+         *
+         * @param out the output to write to
+         * @throws IOException if writing fails
+         */
+        void writeTo(DataOutput out) throws IOException;
+    }
 
     /**
      * Constructs a Storage instance with the specified file path.
@@ -37,17 +70,103 @@ public class Storage {
     /**
      * Saves the list of tasks to the file.
      * Creates parent directories if they don't exist.
+     * While saves are deferred, this only records that the file is out of date.
      *
      * @param tasks the list of tasks to save
      * @throws IOException if an I/O error occurs while writing to the file
      */
     public void save(List<Task> tasks) throws IOException {
+        if (isDeferringSaves) {
+            hasDeferredSave = true;
+        } else {
+            writeTasks(tasks);
+        }
+        isSearchIndexCurrent = false;
+    }
+
+    /**
+     * Sets whether saves are deferred. Deferred saves are written by the next saveWithIndex call,
+     * so a batch of commands writes the file once instead of after every command.
+     *
+     * @param isDeferringSaves true to defer saves, false to write them straight away
+     */
+    public void setDeferringSaves(boolean isDeferringSaves) {
+        this.isDeferringSaves = isDeferringSaves;
+    }
+
+    /**
+     * Checks if a deferred save has not been written yet.
+     *
+     * @return true if the file is missing changes that were saved while deferring
+     */
+    public boolean hasDeferredSave() {
+        return hasDeferredSave;
+    }
+
+    /**
+     * Saves the tasks to the file, and their word index to a sidecar file next to it (e.g., bob.txt.idx).
+     * The sidecar records the length and CRC32 checksum of the task file it was written with,
+     * so it is only used while the task file is unchanged. Failing to write the sidecar is not an error,
+     * since the index can always be rebuilt.
+     *
+     * @param tasks the tasks to save
+     * @param indexWriter writes the word index of the tasks
+     * @throws IOException if an I/O error occurs while writing the task file
+     */
+    public void saveWithIndex(List<Task> tasks, IndexWriter indexWriter) throws IOException {
+        writeTasks(tasks);
+        writeIndex(indexWriter);
+    }
+
+    /**
+     * Saves only the sidecar index, for a task file that is already up to date, such as one
+     * loaded without a usable sidecar. Does nothing if the task file was never read or written,
+     * since there is then no content for the sidecar to be checked against.
+     *
+     * @param indexWriter writes the word index of the tasks in the task file
+     */
+    public void saveIndex(IndexWriter indexWriter) {
+        if (dataLength >= 0) {
+            writeIndex(indexWriter);
+        }
+    }
+
+    /**
+     * Writes the sidecar index for the task file as last loaded or saved.
+     * A failure is only reported, since the index can always be rebuilt.
+     *
+     * @param indexWriter writes the word index
+     */
+    private void writeIndex(IndexWriter indexWriter) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(getIndexPath())))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(dataLength);
+            out.writeLong(dataChecksum);
+            indexWriter.writeTo(out);
+            isSearchIndexCurrent = true;
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save the search index: " + e.getMessage());
+            isSearchIndexCurrent = false;
+        }
+    }
+
+    /**
+     * Writes the tasks to the file, remembering the length and checksum of what was written.
+     * Creates parent directories if they don't exist.
+     *
+     * @param tasks the list of tasks to save
+     * @throws IOException if an I/O error occurs while writing to the file
+     */
+    private void writeTasks(List<Task> tasks) throws IOException {
         // Assert that tasks list is not null and all tasks are valid
         assert tasks != null : "Tasks list must not be null";
         for (Task task : tasks) {
             assert task != null : "All tasks must be non-null before saving";
         }
-        
+
+        StorageSaveEvent event = StorageSaveEvent.start();
         Path path = Paths.get(filePath);
         File f = path.toFile();
 
@@ -57,11 +176,113 @@ public class Storage {
         }
 
         // Write tasks to file using UTF-8 encoding for cross-platform compatibility
-        try (Writer fw = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
-            for (Task task : tasks) {
-                fw.write(task.toFileString() + "\n");
+        StringBuilder content = new StringBuilder();
+        for (Task task : tasks) {
+            content.append(toFileLine(task));
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        long bytesWritten = 0;
+        try {
+            Files.write(path, bytes);
+            bytesWritten = bytes.length;
+        } finally {
+            StorageSaveEvent.finish(event, filePath, tasks.size(), bytesWritten);
+        }
+        rememberContent(bytes);
+        hasDeferredSave = false;
+    }
+
+    /**
+     * Records the length and CRC32 checksum of the task file's content.
+     *
+     * @param content the bytes of the task file
+     */
+    private void rememberContent(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        dataLength = content.length;
+        dataChecksum = crc.getValue();
+    }
+
+    /**
+     * Reads the saved word index, if it was written for the task file as last loaded.
+     * Should be called after load.
+     * The header is checked before the rest is read, and the file is closed before returning rather than
+     * left memory-mapped, since a mapped file cannot be replaced on Windows when the index is saved again.
+     *
+     * @return the index data for TaskList, or null if there is no sidecar or it is out of date
+     */
+    public ByteBuffer loadSearchIndex() {
+        Path indexPath = getIndexPath();
+        if (dataLength < 0 || !Files.exists(indexPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < INDEX_HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer header = readFully(channel, INDEX_HEADER_BYTES);
+            if (header.getInt() != INDEX_MAGIC || header.getInt() != INDEX_VERSION
+                    || header.getLong() != dataLength || header.getLong() != dataChecksum) {
+                return null;
+            }
+            ByteBuffer index = readFully(channel, (int) size - INDEX_HEADER_BYTES);
+            isSearchIndexCurrent = true;
+            return index;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the given number of bytes from a channel into a heap buffer.
+     *
+     * @param channel the channel to read from
+     * @param length the number of bytes to read
+     * @return the bytes, ready to be read
+     * @throws IOException if reading fails or the channel ends first
+     */
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("The search index ended early");
             }
         }
+        return buffer.flip();
+    }
+
+    /**
+     * Checks if the sidecar index matches the task file as last loaded or saved.
+     *
+     * @return true if the sidecar is up to date
+     */
+    public boolean isSearchIndexCurrent() {
+        return isSearchIndexCurrent;
+    }
+
+    /**
+     * Gets the path of the sidecar index file.
+     *
+     * @return the task file path with .idx appended
+     */
+    private Path getIndexPath() {
+        return Paths.get(filePath + INDEX_SUFFIX);
+    }
+
+    /**
+     * Formats a task as one line of the storage file.
+     * Tasks with a stable ID are prefixed with it (e.g., "#12 | T | 0 | read book").
+     *
+     * @param task the task to format
+     * @return the line, including the trailing newline
+     */
+    private String toFileLine(Task task) {
+        if (task.getId() == 0) {
+            return task.toFileString() + "\n";
+        }
+        return "#" + task.getId() + " | " + task.toFileString() + "\n";
     }
 
     /**
@@ -82,17 +303,27 @@ public class Storage {
             return loadedTasks;
         }
 
+        StorageLoadEvent event = StorageLoadEvent.start();
+        long bytesRead = 0;
+        int skippedLines = 0;
         try {
-            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            byte[] content = Files.readAllBytes(path);
+            bytesRead = content.length;
+            rememberContent(content);
+            List<String> lines = new String(content, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
             for (String line : lines) {
                 Task task = parseTaskFromLine(line);
                 if (task != null) {
                     loadedTasks.add(task);
+                } else if (!line.isBlank()) {
+                    skippedLines++;
                 }
             }
         } catch (IOException e) {
             System.out.println("Warning: Error reading file, starting with empty list: " + e.getMessage());
             return loadedTasks;
+        } finally {
+            StorageLoadEvent.finish(event, filePath, bytesRead, loadedTasks.size(), skippedLines);
         }
 
         validateLoadedTasks(loadedTasks);
@@ -112,6 +343,10 @@ public class Storage {
         }
 
         String[] parts = line.split(" \\| ");
+        int id = parseId(parts[0]);
+        if (id > 0) {
+            parts = Arrays.copyOfRange(parts, 1, parts.length);
+        }
         if (parts.length < 3) {
             System.out.println("Warning: Skipping corrupted line (insufficient fields): " + line);
             return null;
@@ -120,10 +355,32 @@ public class Storage {
         Task task = createTaskByType(parts, line);
         if (task != null) {
             applyCompletionStatus(task, parts, line);
+            if (id > 0) {
+                task.setId(id);
+            }
         }
         return task;
     }
 
+    /**
+     * Parses the optional stable ID field at the start of a line.
+     * Lines saved before IDs were introduced have no ID field.
+     *
+     * @param field the first field of the line
+     * @return the ID, or 0 if the field is not an ID
+     */
+    private int parseId(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() < 2 || trimmed.charAt(0) != '#') {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(trimmed.substring(1)));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Creates a task based on the task type indicator.
      *
@@ -170,10 +427,13 @@ public class Storage {
         }
         try {
             LocalDate deadlineDate = LocalDate.parse(parts[3].trim(), DATE_FORMAT);
-            return new bob.task.Deadline(parts[2], deadlineDate);
+            return new bob.task.Deadline(parts[2], deadlineDate, parseRecurrence(parts, 4));
         } catch (DateTimeParseException e) {
             System.out.println("Warning: Skipping deadline with invalid date format: " + line);
             return null;
+        } catch (IllegalArgumentException e) {
+            System.out.println("Warning: Skipping deadline with invalid recurrence: " + line);
+            return null;
         }
     }
 
@@ -192,13 +452,28 @@ public class Storage {
         try {
             LocalDate eventFrom = LocalDate.parse(parts[3].trim(), DATE_FORMAT);
             LocalDate eventTo = LocalDate.parse(parts[4].trim(), DATE_FORMAT);
-            return new bob.task.Event(parts[2], eventFrom, eventTo);
+            return new bob.task.Event(parts[2], eventFrom, eventTo, parseRecurrence(parts, 5));
         } catch (DateTimeParseException e) {
             System.out.println("Warning: Skipping event with invalid date format: " + line);
             return null;
+        } catch (IllegalArgumentException e) {
+            System.out.println("Warning: Skipping event with invalid dates or recurrence: " + line);
+            return null;
         }
     }
 
+    /**
+     * Parses the optional recurrence field of a deadline or event.
+     *
+     * @param parts the split components of the storage line
+     * @param index the position of the recurrence field
+     * @return the recurrence, or null if the line has no recurrence field
+     * @throws IllegalArgumentException if the recurrence field is not recognised
+     */
+    private Recurrence parseRecurrence(String[] parts, int index) {
+        return parts.length > index ? Recurrence.parse(parts[index]) : null;
+    }
+
     /**
      * Applies the completion status to a task based on the storage data.
      *
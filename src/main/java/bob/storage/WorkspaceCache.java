@@ -0,0 +1,242 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.regex.Pattern;
+
+import bob.exception.BobException;
+import bob.tasklist.TaskList;
+
+/**
+ * The named task lists (workspaces) kept in memory, each saved to its own file in the data directory.
+ * Lists are loaded the first time they are switched to and kept in least-recently-used order.
+ * When the lists held exceed the memory budget, the least recently used ones are saved if they
+ * changed and dropped from memory; the current list is always kept.
+ */
+public class WorkspaceCache {
+    /** Rough memory used by one task with its index entries, used to estimate the size of a list. */
+    static final long ESTIMATED_BYTES_PER_TASK = 512;
+
+    private static final String MEMORY_BUDGET_PROPERTY = "bob.workspaceMemoryMb";
+    private static final long DEFAULT_MEMORY_BUDGET_MB = 64;
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private final Path directory;
+    private final long memoryBudget;
+    private final LinkedHashMap<String, Workspace> workspaces = new LinkedHashMap<>(16, 0.75f, true);
+    private Workspace current;
+    private boolean isDeferringSaves;
+
+    /**
+     * Constructs a WorkspaceCache holding an already loaded list as the current workspace.
+     *
+     * @param directory the directory holding one file per workspace
+     * @param name the name of the loaded workspace
+     * @param storage the storage of the loaded workspace
+     * @param tasks the loaded task list
+     * @param memoryBudget the estimated bytes of task lists to keep in memory
+     */
+    public WorkspaceCache(Path directory, String name, Storage storage, TaskList tasks, long memoryBudget) {
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+        this.current = new Workspace(name, storage, tasks);
+        workspaces.put(name, current);
+    }
+
+    /**
+     * Reads the memory budget from the bob.workspaceMemoryMb system property.
+     *
+     * @return the budget in bytes, 64 MB unless the property says otherwise
+     */
+    public static long getConfiguredMemoryBudget() {
+        return Long.getLong(MEMORY_BUDGET_PROPERTY, DEFAULT_MEMORY_BUDGET_MB) * 1024 * 1024;
+    }
+
+    /**
+     * Checks if a name can be used for a workspace.
+     *
+     * @param name the name to check
+     * @return true if the name is 1 to 32 letters, digits, hyphens or underscores
+     */
+    public static boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * Makes the named workspace current, loading it from its file if it is not in memory.
+     * Lists over the memory budget are then saved if needed and dropped, least recently used first.
+     * A list that fails to save, or that has an open transaction or savepoint, is kept in memory
+     * so no changes are lost.
+     *
+     * @param name the workspace name
+     * @throws BobException if the name is invalid or the list cannot be loaded
+     */
+    public void switchTo(String name) throws BobException {
+        if (!isValidName(name)) {
+            throw new BobException("List names can only use letters, digits, '-' and '_' (up to 32 characters).");
+        }
+        Workspace workspace = workspaces.get(name);
+        if (workspace == null) {
+            Storage storage = new Storage(directory.resolve(name + ".txt").toString());
+            storage.setDeferringSaves(isDeferringSaves);
+            try {
+                workspace = new Workspace(name, storage, new TaskList(storage.load(), storage.loadSearchIndex()));
+            } catch (IOException e) {
+                throw new BobException("Could not load list " + name + ": " + e.getMessage());
+            }
+            workspaces.put(name, workspace);
+        }
+        current = workspace;
+        evictOverBudget();
+    }
+
+    /**
+     * Checks if the lists defer their saves until saveAll.
+     *
+     * @return true if saves are deferred
+     */
+    public boolean isDeferringSaves() {
+        return isDeferringSaves;
+    }
+
+    /**
+     * Sets whether the lists defer their saves until saveAll, for running many commands in a batch.
+     *
+     * @param isDeferringSaves true to defer saves, false to write them after every change
+     */
+    public void setDeferringSaves(boolean isDeferringSaves) {
+        this.isDeferringSaves = isDeferringSaves;
+        for (Workspace workspace : workspaces.values()) {
+            workspace.storage.setDeferringSaves(isDeferringSaves);
+        }
+    }
+
+    /**
+     * Saves every workspace in memory that changed since it was loaded or last saved, or whose
+     * saved search index is out of date.
+     *
+     * @throws IOException if any list fails to save; the others are still saved
+     */
+    public void saveAll() throws IOException {
+        IOException failure = null;
+        for (Workspace workspace : workspaces.values()) {
+            try {
+                workspace.saveIfChanged();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Gets the name of the current workspace.
+     *
+     * @return the current workspace name
+     */
+    public String getCurrentName() {
+        return current.name;
+    }
+
+    /**
+     * Gets the task list of the current workspace.
+     *
+     * @return the current task list
+     */
+    public TaskList getCurrentTasks() {
+        return current.tasks;
+    }
+
+    /**
+     * Gets the storage of the current workspace.
+     *
+     * @return the current storage
+     */
+    public Storage getCurrentStorage() {
+        return current.storage;
+    }
+
+    /**
+     * Checks if a workspace is held in memory.
+     *
+     * @param name the workspace name
+     * @return true if the workspace is loaded
+     */
+    public boolean isLoaded(String name) {
+        return workspaces.containsKey(name);
+    }
+
+    /**
+     * Drops the least recently used workspaces until the rest fit in the memory budget.
+     */
+    private void evictOverBudget() {
+        long totalBytes = 0;
+        for (Workspace workspace : workspaces.values()) {
+            totalBytes += workspace.estimateBytes();
+        }
+        Iterator<Workspace> leastRecentFirst = workspaces.values().iterator();
+        while (totalBytes > memoryBudget && leastRecentFirst.hasNext()) {
+            Workspace workspace = leastRecentFirst.next();
+            if (workspace == current || workspace.tasks.isInTransaction() || workspace.tasks.hasOpenSavepoint()) {
+                continue;
+            }
+            try {
+                workspace.saveIfChanged();
+            } catch (IOException e) {
+                continue;
+            }
+            totalBytes -= workspace.estimateBytes();
+            leastRecentFirst.remove();
+        }
+    }
+
+    /**
+     * A named task list with the storage it is saved to.
+     */
+    private static class Workspace {
+        private final String name;
+        private final Storage storage;
+        private final TaskList tasks;
+        private long savedChangeCount;
+
+        private Workspace(String name, Storage storage, TaskList tasks) {
+            this.name = name;
+            this.storage = storage;
+            this.tasks = tasks;
+            this.savedChangeCount = tasks.getChangeCount();
+        }
+
+        /**
+         * Saves the list with its search index if it changed since it was loaded or last saved here,
+         * or has a deferred save. If only its saved search index is out of date, only that is written.
+         * A list with an open transaction is not saved until the transaction is committed.
+         *
+         * @throws IOException if the list fails to save
+         */
+        private void saveIfChanged() throws IOException {
+            if (tasks.isInTransaction()) {
+                return;
+            }
+            long changeCount = tasks.getChangeCount();
+            if (changeCount != savedChangeCount || storage.hasDeferredSave()) {
+                storage.saveWithIndex(tasks.getAllTasks(), tasks::writeSearchIndex);
+                savedChangeCount = changeCount;
+            } else if (!storage.isSearchIndexCurrent()) {
+                storage.saveIndex(tasks::writeSearchIndex);
+            }
+        }
+
+        /**
+         * Estimates the memory held by the list.
+         *
+         * @return the estimated size in bytes
+         */
+        private long estimateBytes() {
+            return tasks.getSize() * ESTIMATED_BYTES_PER_TASK;
+        }
+    }
+}
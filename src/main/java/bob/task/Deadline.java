@@ -8,6 +8,7 @@ import java.util.Locale;
 /**
  * Represents a task with a deadline.
  * A deadline has a description and a date by which it must be completed.
+ * A recurring deadline is due on its date and again every day, week or month after it.
  */
 public class Deadline extends Task {
     private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -34,8 +35,20 @@ public class Deadline extends Task {
      * @param by the deadline date as a LocalDate
      */
     public Deadline(String description, LocalDate by) {
+        this(description, by, null);
+    }
+
+    /**
+     * Constructs a new recurring Deadline with the given description, first due date and recurrence.
+     *
+     * @param description a brief description of the deadline task
+     * @param by the first due date as a LocalDate
+     * @param recurrence how often the deadline repeats, or null if it does not repeat
+     */
+    public Deadline(String description, LocalDate by, Recurrence recurrence) {
         super(description);
         this.by = by;
+        this.recurrence = recurrence;
     }
 
     /**
@@ -61,7 +74,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + by.format(OUTPUT_FORMAT) + ")";
+        return "[D]" + super.toString() + " (by: " + by.format(OUTPUT_FORMAT) + getRecurrenceDisplayString() + ")";
     }
 
     /**
@@ -71,11 +84,26 @@ public class Deadline extends Task {
      */
     @Override
     public String toFileString() {
-        return super.toFileString() + " | " + by.format(INPUT_FORMAT);
+        return super.toFileString() + " | " + by.format(INPUT_FORMAT) + getRecurrenceFileString();
+    }
+
+    /**
+     * Checks if this deadline is due on the given date.
+     *
+     * @param date the date to check
+     * @return true if the deadline, or one of its occurrences, is due on the given date
+     */
+    @Override
+    public boolean occursOn(LocalDate date) {
+        if (recurrence == null) {
+            return by.equals(date);
+        }
+        return date.equals(recurrence.getLatestOnOrBefore(by, date));
     }
 
     /**
      * Gets the deadline date.
+     * For a recurring deadline this is the first due date.
      *
      * @return the LocalDate of the deadline
      */
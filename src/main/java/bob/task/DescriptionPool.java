@@ -0,0 +1,47 @@
+package bob.task;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares one String instance between all tasks with the same description.
+ * Task lists often repeat descriptions ("standup", "review PR"), so keeping a single copy of each
+ * saves a String and its character array per repeat. The JVM already stores strings that fit in
+ * Latin-1 as one byte per character, so sharing is where the remaining savings are.
+ * Entries are held weakly and disappear once no task uses them.
+ */
+public class DescriptionPool {
+    private static final Map<String, WeakReference<String>> POOL = new WeakHashMap<>();
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns the shared instance of the given description, adding it to the pool if it is new.
+     *
+     * @param description the description
+     * @return an equal string that is shared with other tasks
+     */
+    public static synchronized String intern(String description) {
+        WeakReference<String> reference = POOL.get(description);
+        String shared = reference == null ? null : reference.get();
+        if (shared != null) {
+            return shared;
+        }
+        POOL.put(description, new WeakReference<>(description));
+        return description;
+    }
+
+    /**
+     * Estimates the heap used by a string on a 64-bit JVM with compressed pointers.
+     *
+     * @param text the string
+     * @return the estimated size in bytes
+     */
+    public static long estimateSize(String text) {
+        boolean isLatin1 = text.chars().allMatch(c -> c <= 0xFF);
+        long arrayBytes = 16 + (long) text.length() * (isLatin1 ? 1 : 2);
+        return 24 + (arrayBytes + 7) / 8 * 8;
+    }
+}
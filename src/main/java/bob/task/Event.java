@@ -3,11 +3,13 @@ package bob.task;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 
 /**
  * Represents a task that spans a time period.
  * An event has a description, a start date, and an end date.
+ * A recurring event takes place again every day, week or month after its start, lasting as long each time.
  */
 public class Event extends Task {
     private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -42,9 +44,23 @@ public class Event extends Task {
      * @throws IllegalArgumentException if from date is after to date
      */
     public Event(String description, LocalDate from, LocalDate to) {
+        this(description, from, to, null);
+    }
+
+    /**
+     * Constructs a new recurring Event with the given description, first date range and recurrence.
+     *
+     * @param description a brief description of the event
+     * @param from the start date of the first occurrence
+     * @param to the end date of the first occurrence
+     * @param recurrence how often the event repeats, or null if it does not repeat
+     * @throws IllegalArgumentException if from date is after to date
+     */
+    public Event(String description, LocalDate from, LocalDate to, Recurrence recurrence) {
         super(description);
         this.from = from;
         this.to = to;
+        this.recurrence = recurrence;
         if (this.from.isAfter(this.to)) {
             throw new IllegalArgumentException("The 'from' date cannot be after the 'to' date!");
         }
@@ -74,7 +90,7 @@ public class Event extends Task {
     @Override
     public String toString() {
         return "[E]" + super.toString() + " (from: " + from.format(OUTPUT_FORMAT)
-                + " to: " + to.format(OUTPUT_FORMAT) + ")";
+                + " to: " + to.format(OUTPUT_FORMAT) + getRecurrenceDisplayString() + ")";
     }
 
     /**
@@ -84,7 +100,25 @@ public class Event extends Task {
      */
     @Override
     public String toFileString() {
-        return super.toFileString() + " | " + from.format(INPUT_FORMAT) + " | " + to.format(INPUT_FORMAT);
+        return super.toFileString() + " | " + from.format(INPUT_FORMAT) + " | " + to.format(INPUT_FORMAT)
+                + getRecurrenceFileString();
+    }
+
+    /**
+     * Checks if this event is taking place on the given date.
+     *
+     * @param date the date to check
+     * @return true if the date lies between the start and end dates of the event, or of one of its
+     *     occurrences, inclusive
+     */
+    @Override
+    public boolean occursOn(LocalDate date) {
+        if (recurrence == null) {
+            return !from.isAfter(date) && !to.isBefore(date);
+        }
+        // Occurrences all last as long, so only the one starting last on or before the date can cover it.
+        LocalDate start = recurrence.getLatestOnOrBefore(from, date);
+        return start != null && !start.plusDays(ChronoUnit.DAYS.between(from, to)).isBefore(date);
     }
 
     /**
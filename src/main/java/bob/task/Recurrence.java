@@ -0,0 +1,109 @@
+package bob.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * How often a recurring deadline or event repeats.
+ * A recurring task is stored once with its first date; later occurrences are worked out from
+ * that date when needed rather than being created as separate tasks.
+ */
+public enum Recurrence {
+    DAILY(ChronoUnit.DAYS, "day"),
+    WEEKLY(ChronoUnit.WEEKS, "week"),
+    MONTHLY(ChronoUnit.MONTHS, "month");
+
+    private final ChronoUnit unit;
+    private final String periodName;
+
+    Recurrence(ChronoUnit unit, String periodName) {
+        this.unit = unit;
+        this.periodName = periodName;
+    }
+
+    /**
+     * Parses a recurrence from its name, ignoring case.
+     *
+     * @param text the name of the recurrence (daily, weekly or monthly)
+     * @return the matching recurrence
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    public static Recurrence parse(String text) {
+        try {
+            return valueOf(text.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tasks can only repeat daily, weekly or monthly!");
+        }
+    }
+
+    /**
+     * Gets the date of the nth occurrence after the first.
+     * Monthly occurrences keep the first date's day of month, moved back to the last day of
+     * shorter months.
+     *
+     * @param first the date of the first occurrence
+     * @param n the number of periods after the first occurrence
+     * @return the date of that occurrence
+     */
+    public LocalDate getOccurrence(LocalDate first, long n) {
+        return first.plus(n, unit);
+    }
+
+    /**
+     * Gets the latest occurrence on or before the given date.
+     *
+     * @param first the date of the first occurrence
+     * @param date the date to look back from
+     * @return the latest occurrence not after the date, or null if the date is before the first occurrence
+     */
+    public LocalDate getLatestOnOrBefore(LocalDate first, LocalDate date) {
+        long n = countPeriodsUntil(first, date);
+        return n < 0 ? null : getOccurrence(first, n);
+    }
+
+    /**
+     * Gets the earliest occurrence on or after the given date.
+     *
+     * @param first the date of the first occurrence
+     * @param date the date to look forward from
+     * @return the earliest occurrence not before the date
+     */
+    public LocalDate getEarliestOnOrAfter(LocalDate first, LocalDate date) {
+        long n = countPeriodsUntil(first, date);
+        if (n < 0) {
+            return first;
+        }
+        LocalDate latest = getOccurrence(first, n);
+        return latest.equals(date) ? latest : getOccurrence(first, n + 1);
+    }
+
+    /**
+     * Counts the whole periods from the first occurrence to the latest occurrence on or before a date.
+     *
+     * @param first the date of the first occurrence
+     * @param date the date to count up to
+     * @return the number of periods, or -1 if the date is before the first occurrence
+     */
+    private long countPeriodsUntil(LocalDate first, LocalDate date) {
+        if (date.isBefore(first)) {
+            return -1;
+        }
+        long n = unit.between(first, date);
+        // Months are uneven, so a month-end occurrence moved back can fall one period past the count.
+        if (!getOccurrence(first, n + 1).isAfter(date)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the description of this recurrence shown with a task.
+     *
+     * @return the description, e.g., "every week"
+     */
+    @Override
+    public String toString() {
+        return "every " + periodName;
+    }
+}
@@ -1,5 +1,7 @@
 package bob.task;
 
+import java.time.LocalDate;
+
 /**
  * Represents a base task in the Bob application.
  * This is an abstract base class for different types of tasks (Todo, Deadline, Event).
@@ -8,15 +10,19 @@ package bob.task;
 public class Task {
     protected String description;
     protected boolean isDone;
+    protected Recurrence recurrence;
+    private int id;
+    private String sortKey;
 
     /**
      * Constructs a new Task with the given description.
-     * The task is initially marked as not done.
+     * The task is initially marked as not done. Identical descriptions are shared through the
+     * DescriptionPool.
      *
      * @param description a brief description of the task
      */
     public Task(String description) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.isDone = false;
     }
 
@@ -76,6 +82,87 @@ public class Task {
         return description;
     }
 
+    /**
+     * Gets the stable ID of this task.
+     * IDs stay the same when other tasks are deleted or the list is sorted.
+     *
+     * @return the task ID, or 0 if no ID has been assigned yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable ID of this task.
+     *
+     * @param id the positive task ID
+     */
+    public void setId(int id) {
+        assert id > 0 : "Task IDs must be positive";
+        this.id = id;
+    }
+
+    /**
+     * Gets how often this task repeats.
+     *
+     * @return the recurrence, or null if the task does not repeat
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Checks if this task repeats.
+     *
+     * @return true if the task has a recurrence
+     */
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Returns the file format field for the recurrence, if any.
+     *
+     * @return " | " followed by the lowercased recurrence name, or an empty string for tasks that do not repeat
+     */
+    protected String getRecurrenceFileString() {
+        return recurrence == null ? "" : " | " + recurrence.name().toLowerCase();
+    }
+
+    /**
+     * Returns the display suffix for the recurrence, if any.
+     *
+     * @return ", " followed by the recurrence, or an empty string for tasks that do not repeat
+     */
+    protected String getRecurrenceDisplayString() {
+        return recurrence == null ? "" : ", " + recurrence;
+    }
+
+    /**
+     * Checks if this task falls on the given date.
+     * Tasks without a date never match. Recurring tasks match any of their occurrences.
+     *
+     * @param date the date to check
+     * @return true if the task is due or taking place on the date
+     */
+    public boolean occursOn(LocalDate date) {
+        return false;
+    }
+
+    /**
+     * Returns the key used to order this task alphabetically.
+     * The lowercased description is computed on first use and cached, so sorting
+     * does not allocate a new string on every comparison.
+     *
+     * @return the cached sort key
+     */
+    public String getSortKey() {
+        if (sortKey == null) {
+            sortKey = DescriptionPool.intern(description.toLowerCase());
+        }
+        return sortKey;
+    }
+
     /**
      * Returns a string representation of this task for display.
      * Format: [Status] Description
@@ -0,0 +1,218 @@
+package bob.tasklist;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A BK-tree of words, used to find words within a small edit distance of a query
+ * without comparing the query against every word.
+ */
+class BkTree {
+    private Node root;
+    private int size;
+
+    /**
+     * A word in the tree, with children keyed by their edit distance to it.
+     */
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    /**
+     * Adds a word to the tree. Adding a word that is already present has no effect.
+     *
+     * @param word the word to add
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds all words within the given edit distance of the query.
+     * Subtrees that cannot contain a match are skipped using the triangle inequality.
+     *
+     * @param query the word to search for
+     * @param maxDistance the largest edit distance allowed
+     * @return the matching words
+     */
+    List<String> search(String query, int maxDistance) {
+        List<String> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = distance(query, node.word, Integer.MAX_VALUE);
+            if (distance <= maxDistance) {
+                matches.add(node.word);
+            }
+            for (Map.Entry<Integer, Node> entry : node.children.entrySet()) {
+                if (Math.abs(entry.getKey() - distance) <= maxDistance) {
+                    pending.add(entry.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lists the words in the tree.
+     *
+     * @return the words, in preorder
+     */
+    List<String> getWords() {
+        List<String> words = new ArrayList<>(size);
+        List<Node> pending = new ArrayList<>();
+        if (root != null) {
+            pending.add(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            words.add(node.word);
+            pending.addAll(node.children.values());
+        }
+        return words;
+    }
+
+    /**
+     * Writes the tree in preorder, each word as its number in the given word table.
+     * Reading it back restores the same shape without computing any edit distances.
+     *
+     * @param out the output to write to
+     * @param wordNumbers the number of each word in the word table written alongside the tree
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutput out, Map<String, Integer> wordNumbers) throws IOException {
+        out.writeInt(size);
+        if (root != null) {
+            writeNode(out, root, wordNumbers);
+        }
+    }
+
+    /**
+     * Writes a node and its subtrees.
+     *
+     * @param out the output to write to
+     * @param node the node to write
+     * @param wordNumbers the number of each word in the word table
+     * @throws IOException if writing fails
+     */
+    private static void writeNode(DataOutput out, Node node, Map<String, Integer> wordNumbers) throws IOException {
+        out.writeInt(wordNumbers.get(node.word));
+        out.writeInt(node.children.size());
+        for (Map.Entry<Integer, Node> entry : node.children.entrySet()) {
+            out.writeInt(entry.getKey());
+            writeNode(out, entry.getValue(), wordNumbers);
+        }
+    }
+
+    /**
+     * Reads a tree written by writeTo.
+     *
+     * @param in the buffer to read from
+     * @param words the word table written alongside the tree
+     * @return the tree
+     * @throws java.nio.BufferUnderflowException if the buffer ends early
+     * @throws ArrayIndexOutOfBoundsException if a word number is not in the table
+     */
+    static BkTree readFrom(ByteBuffer in, String[] words) {
+        BkTree tree = new BkTree();
+        tree.size = in.getInt();
+        if (tree.size > 0) {
+            tree.root = readNode(in, words);
+        }
+        return tree;
+    }
+
+    /**
+     * Reads a node and its subtrees.
+     *
+     * @param in the buffer to read from
+     * @param words the word table
+     * @return the node
+     */
+    private static Node readNode(ByteBuffer in, String[] words) {
+        Node node = new Node(words[in.getInt()]);
+        int childCount = in.getInt();
+        for (int i = 0; i < childCount; i++) {
+            int distance = in.getInt();
+            node.children.put(distance, readNode(in, words));
+        }
+        return node;
+    }
+
+    /**
+     * Gets the number of words in the tree.
+     *
+     * @return the number of words
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Computes the Levenshtein edit distance between two words.
+     * Stops early once every alignment exceeds the limit, returning limit + 1.
+     *
+     * @param a the first word
+     * @param b the second word
+     * @param limit the largest distance of interest
+     * @return the edit distance, or limit + 1 if it exceeds the limit
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,40 @@
+package bob.tasklist;
+
+import bob.task.Event;
+
+/**
+ * A pair of events that share at least one day.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    /**
+     * Constructs an EventConflict.
+     *
+     * @param first the event that starts first
+     * @param second the event that starts on the same day or later
+     */
+    EventConflict(Event first, Event second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Gets the event that starts first.
+     *
+     * @return the first event
+     */
+    public Event getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the event that starts on the same day as the first or later.
+     *
+     * @return the second event
+     */
+    public Event getSecond() {
+        return second;
+    }
+}
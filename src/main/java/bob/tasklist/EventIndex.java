@@ -0,0 +1,287 @@
+package bob.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import bob.task.Event;
+import bob.task.Task;
+
+/**
+ * An index of one-off events that are not done yet, ordered by start date, for finding overlapping events.
+ * Two events overlap if they share at least one day. Recurring events are left out, since their
+ * occurrences never end.
+ * Events are kept in an interval tree: a treap keyed by start date whose nodes also record the
+ * latest end date in their subtree. Checking one event skips every subtree that ends before it
+ * starts, so it takes logarithmic time plus the number of overlaps however long other events are.
+ */
+class EventIndex implements TaskIndex {
+    private Node root;
+
+    @Override
+    public void add(Task task) {
+        if (!(task instanceof Event) || task.isDone() || task.isRecurring()) {
+            return;
+        }
+        root = insert(root, (Event) task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (!(task instanceof Event)) {
+            return;
+        }
+        root = delete(root, (Event) task);
+    }
+
+    @Override
+    public void update(Task task) {
+        if (task.isDone()) {
+            remove(task);
+        } else {
+            add(task);
+        }
+    }
+
+    /**
+     * Finds the indexed events that overlap the given event, ordered by start date.
+     * The event itself is left out of the result.
+     *
+     * @param event the event to check
+     * @return the overlapping events
+     */
+    List<Event> findOverlapping(Event event) {
+        List<Event> overlapping = new ArrayList<>();
+        collectOverlapping(root, event, overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Adds the events in a subtree that overlap the given event, in start-date order.
+     * Subtrees ending before the event starts, and nodes starting after it ends, are not visited.
+     *
+     * @param node the root of the subtree, possibly null
+     * @param event the event to check
+     * @param overlapping the list to add to
+     */
+    private static void collectOverlapping(Node node, Event event, List<Event> overlapping) {
+        if (node == null || node.subtreeLatestEnd.isBefore(event.getFromDate())) {
+            return;
+        }
+        collectOverlapping(node.left, event, overlapping);
+        if (node.start.isAfter(event.getToDate())) {
+            return;
+        }
+        for (Event other : node.events) {
+            if (other != event && !other.getToDate().isBefore(event.getFromDate())) {
+                overlapping.add(other);
+            }
+        }
+        collectOverlapping(node.right, event, overlapping);
+    }
+
+    /**
+     * Finds every pair of overlapping events with one sweep in start-date order.
+     * Events still running are kept in a queue ordered by end date; each new event is paired with
+     * those that have not ended before it starts.
+     *
+     * @return the overlapping pairs, ordered by the start date of the later event
+     */
+    List<EventConflict> findAllConflicts() {
+        List<Set<Event>> eventsByStart = new ArrayList<>();
+        collectInOrder(root, eventsByStart);
+        List<EventConflict> conflicts = new ArrayList<>();
+        PriorityQueue<Event> running = new PriorityQueue<>(Comparator.comparing(Event::getToDate));
+        for (Set<Event> events : eventsByStart) {
+            for (Event event : events) {
+                while (!running.isEmpty() && running.peek().getToDate().isBefore(event.getFromDate())) {
+                    running.poll();
+                }
+                for (Event other : running) {
+                    conflicts.add(new EventConflict(other, event));
+                }
+                running.add(event);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Lists the events of a subtree grouped by start date, in start-date order.
+     *
+     * @param node the root of the subtree, possibly null
+     * @param eventsByStart the list to add each start date's events to
+     */
+    private static void collectInOrder(Node node, List<Set<Event>> eventsByStart) {
+        if (node == null) {
+            return;
+        }
+        collectInOrder(node.left, eventsByStart);
+        eventsByStart.add(node.events);
+        collectInOrder(node.right, eventsByStart);
+    }
+
+    /**
+     * Adds an event to a subtree, rotating the new node up while its priority is higher than its parent's.
+     *
+     * @param node the root of the subtree, possibly null
+     * @param event the event to add
+     * @return the new root of the subtree
+     */
+    private static Node insert(Node node, Event event) {
+        if (node == null) {
+            Node added = new Node(event.getFromDate());
+            added.events.add(event);
+            added.refreshLatestEnd();
+            added.refreshSubtreeLatestEnd();
+            return added;
+        }
+        int order = event.getFromDate().compareTo(node.start);
+        if (order < 0) {
+            node.left = insert(node.left, event);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else if (order > 0) {
+            node.right = insert(node.right, event);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        } else if (node.events.add(event)) {
+            node.refreshLatestEnd();
+        }
+        node.refreshSubtreeLatestEnd();
+        return node;
+    }
+
+    /**
+     * Removes an event from a subtree, dropping its node if no other event starts on the same day.
+     *
+     * @param node the root of the subtree, possibly null
+     * @param event the event to remove
+     * @return the new root of the subtree
+     */
+    private static Node delete(Node node, Event event) {
+        if (node == null) {
+            return null;
+        }
+        int order = event.getFromDate().compareTo(node.start);
+        if (order < 0) {
+            node.left = delete(node.left, event);
+        } else if (order > 0) {
+            node.right = delete(node.right, event);
+        } else if (node.events.remove(event)) {
+            if (node.events.isEmpty()) {
+                return merge(node.left, node.right);
+            }
+            node.refreshLatestEnd();
+        }
+        node.refreshSubtreeLatestEnd();
+        return node;
+    }
+
+    /**
+     * Joins two subtrees where every start date in the first is before every start date in the second.
+     *
+     * @param first the subtree with the earlier start dates, possibly null
+     * @param second the subtree with the later start dates, possibly null
+     * @return the root of the joined subtree
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.refreshSubtreeLatestEnd();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.refreshSubtreeLatestEnd();
+        return second;
+    }
+
+    /**
+     * Rotates a node's left child up into its place.
+     *
+     * @param node the node to rotate down
+     * @return the new root of the subtree
+     */
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.refreshSubtreeLatestEnd();
+        left.right = node;
+        left.refreshSubtreeLatestEnd();
+        return left;
+    }
+
+    /**
+     * Rotates a node's right child up into its place.
+     *
+     * @param node the node to rotate down
+     * @return the new root of the subtree
+     */
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.refreshSubtreeLatestEnd();
+        right.left = node;
+        right.refreshSubtreeLatestEnd();
+        return right;
+    }
+
+    /**
+     * Gets the later of two dates.
+     *
+     * @param date the first date
+     * @param other the second date, possibly null
+     * @return the later date
+     */
+    private static LocalDate later(LocalDate date, LocalDate other) {
+        return other != null && other.isAfter(date) ? other : date;
+    }
+
+    /**
+     * The events starting on one day, with a random priority that keeps the tree balanced.
+     */
+    private static class Node {
+        private final LocalDate start;
+        private final Set<Event> events = new LinkedHashSet<>();
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDate latestEnd;
+        private LocalDate subtreeLatestEnd;
+        private Node left;
+        private Node right;
+
+        private Node(LocalDate start) {
+            this.start = start;
+        }
+
+        /**
+         * Recomputes the latest end date of this node's own events, after they changed.
+         */
+        private void refreshLatestEnd() {
+            latestEnd = start;
+            for (Event event : events) {
+                latestEnd = later(latestEnd, event.getToDate());
+            }
+        }
+
+        /**
+         * Recomputes the latest end date in this subtree, after this node or its children changed.
+         */
+        private void refreshSubtreeLatestEnd() {
+            subtreeLatestEnd = later(later(latestEnd, left == null ? null : left.subtreeLatestEnd),
+                    right == null ? null : right.subtreeLatestEnd);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package bob.tasklist;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import bob.task.Task;
+
+/**
+ * An index from stable task IDs to tasks, for constant-time lookup regardless of list position.
+ */
+class IdIndex implements TaskIndex {
+    private final Map<Integer, Task> tasksById = new HashMap<>();
+
+    @Override
+    public void add(Task task) {
+        tasksById.put(task.getId(), task);
+    }
+
+    @Override
+    public void remove(Task task) {
+        tasksById.remove(task.getId(), task);
+    }
+
+    /**
+     * Gets the task with the given ID.
+     *
+     * @param id the task ID
+     * @return the task, or null if no task has the ID
+     */
+    Task get(int id) {
+        return tasksById.get(id);
+    }
+}
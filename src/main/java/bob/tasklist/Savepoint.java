@@ -0,0 +1,36 @@
+package bob.tasklist;
+
+import java.util.Deque;
+
+/**
+ * A point in a TaskList's history that later changes can be rolled back to, such as the start of
+ * a line of several commands that should succeed or fail together.
+ */
+public class Savepoint {
+    final int logPosition;
+    final Deque<TaskChange> undoStack;
+    final Deque<TaskChange> redoStack;
+    final int transactionStart;
+    final Deque<TaskChange> undoStackAtBegin;
+    final Deque<TaskChange> redoStackAtBegin;
+
+    /**
+     * Constructs a Savepoint.
+     *
+     * @param logPosition the number of changes logged when it was opened
+     * @param undoStack a copy of the undo history
+     * @param redoStack a copy of the redo history
+     * @param transactionStart where the open transaction began in the log, or -1 if none was open
+     * @param undoStackAtBegin the undo history saved by the open transaction, or null
+     * @param redoStackAtBegin the redo history saved by the open transaction, or null
+     */
+    Savepoint(int logPosition, Deque<TaskChange> undoStack, Deque<TaskChange> redoStack, int transactionStart,
+            Deque<TaskChange> undoStackAtBegin, Deque<TaskChange> redoStackAtBegin) {
+        this.logPosition = logPosition;
+        this.undoStack = undoStack;
+        this.redoStack = redoStack;
+        this.transactionStart = transactionStart;
+        this.undoStackAtBegin = undoStackAtBegin;
+        this.redoStackAtBegin = redoStackAtBegin;
+    }
+}
@@ -0,0 +1,52 @@
+package bob.tasklist;
+
+import bob.task.Task;
+
+/**
+ * A task with its relevance score and position, used while ranking search results.
+ */
+class ScoredTask {
+    private final Task task;
+    private final double score;
+    private final int position;
+
+    /**
+     * Constructs a ScoredTask.
+     *
+     * @param task the task
+     * @param score the relevance score
+     * @param position the 0-based position of the task in the list
+     */
+    ScoredTask(Task task, double score, int position) {
+        this.task = task;
+        this.score = score;
+        this.position = position;
+    }
+
+    /**
+     * Gets the task.
+     *
+     * @return the task
+     */
+    Task getTask() {
+        return task;
+    }
+
+    /**
+     * Gets the relevance score.
+     *
+     * @return the score
+     */
+    double getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the position of the task in the list.
+     *
+     * @return the 0-based position
+     */
+    int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,176 @@
+package bob.tasklist;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import bob.task.Deadline;
+import bob.task.DescriptionPool;
+import bob.task.Event;
+import bob.task.Task;
+import bob.task.Todo;
+
+/**
+ * Running counts of tasks by type and status, kept up to date as the list changes.
+ * Undone deadlines are also counted per due date, and the number of overdue deadlines
+ * is carried forward from the last day it was asked for, so reading statistics never scans the list.
+ * Recurring deadlines always have another occurrence coming, so they are never counted as overdue.
+ * They have no fixed due date either, so, as in UpcomingIndex, they are kept aside and counted
+ * as due this week by their next occurrence.
+ * Each description is counted too, so the heap saved by sharing repeated descriptions reflects
+ * the tasks in the list now: one String and its array for every task beyond the first to use it.
+ */
+class StatisticsIndex implements TaskIndex {
+    private int todoCount;
+    private int deadlineCount;
+    private int eventCount;
+    private int doneCount;
+    private final TreeMap<LocalDate, Integer> undoneDeadlinesByDate = new TreeMap<>();
+    private final Set<Task> undoneRecurringDeadlines = new LinkedHashSet<>();
+    private LocalDate overdueAsOf = LocalDate.MIN;
+    private int overdueCount;
+    private final Map<String, Integer> descriptionCounts = new HashMap<>();
+    private long sharedDescriptionBytes;
+
+    @Override
+    public void add(Task task) {
+        count(task, 1);
+        countDescription(task.getDescription(), 1);
+        if (task.isDone()) {
+            doneCount++;
+        } else {
+            countUndoneDeadline(task, 1);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        count(task, -1);
+        countDescription(task.getDescription(), -1);
+        if (task.isDone()) {
+            doneCount--;
+        } else {
+            countUndoneDeadline(task, -1);
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        int change = task.isDone() ? 1 : -1;
+        doneCount += change;
+        countUndoneDeadline(task, -change);
+    }
+
+    /**
+     * Takes a snapshot of the statistics as of the given day.
+     *
+     * @param today the current date
+     * @return the statistics
+     */
+    TaskStatistics getStatistics(LocalDate today) {
+        return new TaskStatistics(todoCount, deadlineCount, eventCount, doneCount,
+                getOverdueCount(today), getDueWithinWeekCount(today), sharedDescriptionBytes);
+    }
+
+    /**
+     * Adjusts the count for the task's type.
+     *
+     * @param task the task
+     * @param change +1 or -1
+     */
+    private void count(Task task, int change) {
+        if (task instanceof Todo) {
+            todoCount += change;
+        } else if (task instanceof Deadline) {
+            deadlineCount += change;
+        } else if (task instanceof Event) {
+            eventCount += change;
+        }
+    }
+
+    /**
+     * Adjusts the number of tasks using a description, and the bytes saved by sharing it.
+     * A description used by n tasks saves n - 1 copies.
+     *
+     * @param description the task's description
+     * @param change +1 or -1
+     */
+    private void countDescription(String description, int change) {
+        Integer count = descriptionCounts.merge(description, change, (a, b) -> a + b == 0 ? null : a + b);
+        boolean isRepeat = change > 0 ? count > 1 : count != null;
+        if (isRepeat) {
+            sharedDescriptionBytes += change * DescriptionPool.estimateSize(description);
+        }
+    }
+
+    /**
+     * Adjusts the per-date count of undone deadlines, and the overdue count if the deadline has passed.
+     * Recurring deadlines are added to or removed from their own set instead.
+     *
+     * @param task the task; ignored unless it is a deadline
+     * @param change +1 or -1
+     */
+    private void countUndoneDeadline(Task task, int change) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        if (task.isRecurring()) {
+            if (change > 0) {
+                undoneRecurringDeadlines.add(task);
+            } else {
+                undoneRecurringDeadlines.remove(task);
+            }
+            return;
+        }
+        LocalDate date = ((Deadline) task).getDate();
+        undoneDeadlinesByDate.merge(date, change, (a, b) -> a + b == 0 ? null : a + b);
+        if (date.isBefore(overdueAsOf)) {
+            overdueCount += change;
+        }
+    }
+
+    /**
+     * Counts undone deadlines due before today.
+     * Only the dates passed since the previous call are added, so repeated calls are cheap.
+     *
+     * @param today the current date
+     * @return the number of overdue deadlines
+     */
+    private int getOverdueCount(LocalDate today) {
+        if (today.isBefore(overdueAsOf)) {
+            overdueAsOf = LocalDate.MIN;
+            overdueCount = 0;
+        }
+        for (int count : undoneDeadlinesByDate.subMap(overdueAsOf, true, today, false).values()) {
+            overdueCount += count;
+        }
+        overdueAsOf = today;
+        return overdueCount;
+    }
+
+    /**
+     * Counts undone deadlines due in the seven days starting today.
+     * A recurring deadline counts once if its next occurrence falls in that week.
+     *
+     * @param today the current date
+     * @return the number of deadlines due this week
+     */
+    private int getDueWithinWeekCount(LocalDate today) {
+        LocalDate lastDay = today.plusDays(6);
+        int count = 0;
+        for (Map.Entry<LocalDate, Integer> entry
+                : undoneDeadlinesByDate.subMap(today, true, lastDay, true).entrySet()) {
+            count += entry.getValue();
+        }
+        for (Task task : undoneRecurringDeadlines) {
+            LocalDate next = task.getRecurrence().getEarliestOnOrAfter(((Deadline) task).getDate(), today);
+            if (!next.isAfter(lastDay)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,140 @@
+package bob.tasklist;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import bob.task.Task;
+
+/**
+ * An index from #tags in task descriptions to the tasks carrying them.
+ * Each tagged task gets a small ordinal, reusing those freed by removed tasks, and each tag has
+ * a bitmap with one bit per ordinal. Ordinals stay dense whatever IDs the tasks were saved with,
+ * and combining tags is a word-at-a-time AND or OR instead of matching descriptions.
+ */
+class TagIndex implements TaskIndex {
+    private final Map<String, BitSet> ordinalsByTag = new HashMap<>();
+    private final Map<Task, Integer> ordinals = new HashMap<>();
+    private final List<Task> tasksByOrdinal = new ArrayList<>();
+    private final BitSet freeOrdinals = new BitSet();
+
+    @Override
+    public void add(Task task) {
+        Set<String> tags = extractTags(task.getDescription());
+        if (tags.isEmpty()) {
+            return;
+        }
+        int ordinal = freeOrdinals.nextSetBit(0);
+        if (ordinal < 0) {
+            ordinal = tasksByOrdinal.size();
+            tasksByOrdinal.add(task);
+        } else {
+            freeOrdinals.clear(ordinal);
+            tasksByOrdinal.set(ordinal, task);
+        }
+        ordinals.put(task, ordinal);
+        for (String tag : tags) {
+            ordinalsByTag.computeIfAbsent(tag, t -> new BitSet()).set(ordinal);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        Integer ordinal = ordinals.remove(task);
+        if (ordinal == null) {
+            return;
+        }
+        for (String tag : extractTags(task.getDescription())) {
+            BitSet tagged = ordinalsByTag.get(tag);
+            if (tagged == null) {
+                continue;
+            }
+            tagged.clear(ordinal);
+            if (tagged.isEmpty()) {
+                ordinalsByTag.remove(tag);
+            }
+        }
+        tasksByOrdinal.set(ordinal, null);
+        freeOrdinals.set(ordinal);
+    }
+
+    /**
+     * Finds the tasks matching every group of tags, where a group matches tasks with any of its tags.
+     *
+     * @param tagGroups the groups of tags; each group is ORed and the groups are ANDed
+     * @return the matching tasks, in no particular order
+     */
+    List<Task> findTasks(List<List<String>> tagGroups) {
+        BitSet matches = findOrdinals(tagGroups);
+        List<Task> found = new ArrayList<>(matches.cardinality());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            found.add(tasksByOrdinal.get(ordinal));
+        }
+        return found;
+    }
+
+    /**
+     * Combines the bitmaps of the tags into the ordinals of the matching tasks.
+     *
+     * @param tagGroups the groups of tags; each group is ORed and the groups are ANDed
+     * @return the matching ordinals
+     */
+    private BitSet findOrdinals(List<List<String>> tagGroups) {
+        BitSet result = null;
+        for (List<String> group : tagGroups) {
+            BitSet anyOf = new BitSet();
+            for (String tag : group) {
+                BitSet tagged = ordinalsByTag.get(tag.toLowerCase());
+                if (tagged != null) {
+                    anyOf.or(tagged);
+                }
+            }
+            if (result == null) {
+                result = anyOf;
+            } else {
+                result.and(anyOf);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    /**
+     * Finds the #tags in a description: words of letters, digits, '-' or '_' straight after a '#'.
+     *
+     * @param description the task description
+     * @return the distinct tags, lowercased and without the '#'
+     */
+    static Set<String> extractTags(String description) {
+        Set<String> tags = new LinkedHashSet<>();
+        int hash = description.indexOf('#');
+        while (hash >= 0) {
+            int end = hash + 1;
+            while (end < description.length() && isTagChar(description.charAt(end))) {
+                end++;
+            }
+            boolean isWordStart = hash == 0 || Character.isWhitespace(description.charAt(hash - 1));
+            if (end > hash + 1 && isWordStart) {
+                tags.add(description.substring(hash + 1, end).toLowerCase());
+            }
+            hash = description.indexOf('#', end);
+        }
+        return tags;
+    }
+
+    /**
+     * Checks if a character can be part of a tag.
+     *
+     * @param c the character
+     * @return true for letters, digits, '-' and '_'
+     */
+    private static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,171 @@
+package bob.tasklist;
+
+import java.util.List;
+
+import bob.task.Task;
+
+/**
+ * A record of one change to a TaskList, holding just enough to reverse and reapply it.
+ * Each change stores only the affected positions or tasks rather than a copy of the whole list.
+ */
+abstract class TaskChange {
+    /**
+     * Reverses this change.
+     *
+     * @param taskList the list the change was made to
+     */
+    abstract void undo(TaskList taskList);
+
+    /**
+     * Reapplies this change after it was undone.
+     *
+     * @param taskList the list the change was made to
+     */
+    abstract void redo(TaskList taskList);
+
+    /**
+     * Describes the change for display, e.g. "delete 3 task(s)".
+     *
+     * @return the description
+     */
+    abstract String describe();
+
+    /**
+     * Records tasks being added at the given positions.
+     *
+     * @param indices the positions of the added tasks, in ascending order
+     * @param tasks the added tasks
+     * @return the change
+     */
+    static TaskChange added(int[] indices, List<Task> tasks) {
+        return new InsertOrRemove(indices, tasks, true);
+    }
+
+    /**
+     * Records tasks being deleted from the given positions.
+     *
+     * @param indices the positions the tasks were deleted from, in ascending order
+     * @param tasks the deleted tasks
+     * @return the change
+     */
+    static TaskChange deleted(int[] indices, List<Task> tasks) {
+        return new InsertOrRemove(indices, tasks, false);
+    }
+
+    /**
+     * Records tasks being marked as done or not done.
+     *
+     * @param tasks the tasks whose status changed
+     * @param isDone the new status
+     * @return the change
+     */
+    static TaskChange statusChanged(List<Task> tasks, boolean isDone) {
+        return new StatusChange(tasks, isDone);
+    }
+
+    /**
+     * Records the list being reordered.
+     *
+     * @param order the new order, where position i now holds the task previously at order[i]
+     * @return the change
+     */
+    static TaskChange reordered(int[] order) {
+        return new Reorder(order);
+    }
+
+    /**
+     * Tasks added to or deleted from the list.
+     */
+    private static class InsertOrRemove extends TaskChange {
+        private final int[] indices;
+        private final List<Task> tasks;
+        private final boolean isAdd;
+
+        InsertOrRemove(int[] indices, List<Task> tasks, boolean isAdd) {
+            this.indices = indices;
+            this.tasks = tasks;
+            this.isAdd = isAdd;
+        }
+
+        @Override
+        void undo(TaskList taskList) {
+            apply(taskList, !isAdd);
+        }
+
+        @Override
+        void redo(TaskList taskList) {
+            apply(taskList, isAdd);
+        }
+
+        private void apply(TaskList taskList, boolean isInsert) {
+            if (isInsert) {
+                taskList.insertTasks(indices, tasks);
+            } else {
+                taskList.removeTasks(indices);
+            }
+        }
+
+        @Override
+        String describe() {
+            return (isAdd ? "add " : "delete ") + tasks.size() + " task(s)";
+        }
+    }
+
+    /**
+     * Tasks marked as done or not done.
+     */
+    private static class StatusChange extends TaskChange {
+        private final List<Task> tasks;
+        private final boolean isDone;
+
+        StatusChange(List<Task> tasks, boolean isDone) {
+            this.tasks = tasks;
+            this.isDone = isDone;
+        }
+
+        @Override
+        void undo(TaskList taskList) {
+            taskList.setDone(tasks, !isDone);
+        }
+
+        @Override
+        void redo(TaskList taskList) {
+            taskList.setDone(tasks, isDone);
+        }
+
+        @Override
+        String describe() {
+            return (isDone ? "mark " : "unmark ") + tasks.size() + " task(s)";
+        }
+    }
+
+    /**
+     * The list reordered, for example by sorting.
+     */
+    private static class Reorder extends TaskChange {
+        private final int[] order;
+
+        Reorder(int[] order) {
+            this.order = order;
+        }
+
+        @Override
+        void undo(TaskList taskList) {
+            int[] inverse = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                inverse[order[i]] = i;
+            }
+            taskList.reorder(inverse);
+        }
+
+        @Override
+        void redo(TaskList taskList) {
+            taskList.reorder(order);
+        }
+
+        @Override
+        String describe() {
+            return "sort";
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package bob.tasklist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The undo and redo history of a TaskList.
+ * Keeps at most a fixed number of changes, dropping the oldest once full.
+ * While a transaction or a savepoint is open, every change applied, undone or redone is also logged,
+ * so the whole transaction, or everything since the savepoint, can be rolled back however many
+ * changes it made. A savepoint also restores whether a transaction was open, so it can be taken
+ * around commands that begin, commit or roll back a transaction.
+ */
+class TaskHistory {
+    private final int capacity;
+    private Deque<TaskChange> undoStack = new ArrayDeque<>();
+    private Deque<TaskChange> redoStack = new ArrayDeque<>();
+    private long changeCount;
+    private List<LoggedChange> log;
+    private int transactionStart = -1;
+    private Deque<TaskChange> undoStackAtBegin;
+    private Deque<TaskChange> redoStackAtBegin;
+    private int openSavepoints;
+
+    /**
+     * Constructs a TaskHistory.
+     *
+     * @param capacity the maximum number of changes to keep
+     */
+    TaskHistory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a new change. Anything that could have been redone is discarded.
+     *
+     * @param change the change just made
+     */
+    void record(TaskChange change) {
+        changeCount++;
+        log(change, false);
+        undoStack.push(change);
+        if (undoStack.size() > capacity) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Takes the most recent change to undo and moves it to the redo stack.
+     *
+     * @return the change to undo, or null if there is none
+     */
+    TaskChange nextUndo() {
+        TaskChange change = undoStack.poll();
+        if (change != null) {
+            changeCount++;
+            log(change, true);
+            redoStack.push(change);
+        }
+        return change;
+    }
+
+    /**
+     * Takes the most recently undone change and moves it back to the undo stack.
+     *
+     * @return the change to redo, or null if there is none
+     */
+    TaskChange nextRedo() {
+        TaskChange change = redoStack.poll();
+        if (change != null) {
+            changeCount++;
+            log(change, false);
+            undoStack.push(change);
+        }
+        return change;
+    }
+
+    /**
+     * Counts the changes made, undone and redone so far.
+     *
+     * @return the number of changes applied to the list since it was created
+     */
+    long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Starts logging changes so they can be rolled back together.
+     */
+    void begin() {
+        assert !isInTransaction() : "Transactions cannot be nested";
+        if (log == null) {
+            log = new ArrayList<>();
+        }
+        transactionStart = log.size();
+        undoStackAtBegin = new ArrayDeque<>(undoStack);
+        redoStackAtBegin = new ArrayDeque<>(redoStack);
+    }
+
+    /**
+     * Checks if a transaction is open.
+     *
+     * @return true if changes are being logged for a rollback
+     */
+    boolean isInTransaction() {
+        return transactionStart >= 0;
+    }
+
+    /**
+     * Counts the changes logged in the open transaction.
+     *
+     * @return the number of changes applied, undone or redone since the transaction began
+     */
+    int getTransactionSize() {
+        return log.size() - transactionStart;
+    }
+
+    /**
+     * Keeps the changes of the open transaction and stops logging them.
+     */
+    void commit() {
+        transactionStart = -1;
+        undoStackAtBegin = null;
+        redoStackAtBegin = null;
+        trimLog();
+    }
+
+    /**
+     * Reverses every change of the open transaction, most recent first, and puts the undo and
+     * redo history back as it was when the transaction began.
+     * While a savepoint is open the reversals are logged too, so rolling back to the savepoint
+     * can reapply them.
+     *
+     * @param taskList the list the changes were applied to
+     */
+    void rollBack(TaskList taskList) {
+        int end = log.size();
+        for (int i = end - 1; i >= transactionStart; i--) {
+            LoggedChange logged = log.get(i);
+            logged.reverse(taskList);
+            if (openSavepoints > 0) {
+                log.add(new LoggedChange(logged.change, !logged.wasUndone));
+            }
+        }
+        if (openSavepoints == 0) {
+            log.subList(transactionStart, end).clear();
+        }
+        changeCount++;
+        undoStack = new ArrayDeque<>(undoStackAtBegin);
+        redoStack = new ArrayDeque<>(redoStackAtBegin);
+        commit();
+    }
+
+    /**
+     * Opens a savepoint, after which changes are logged until it is rolled back to or released.
+     *
+     * @return the savepoint
+     */
+    Savepoint openSavepoint() {
+        if (log == null) {
+            log = new ArrayList<>();
+        }
+        openSavepoints++;
+        return new Savepoint(log.size(), new ArrayDeque<>(undoStack), new ArrayDeque<>(redoStack),
+                transactionStart, undoStackAtBegin, redoStackAtBegin);
+    }
+
+    /**
+     * Checks if a savepoint is open.
+     *
+     * @return true if changes are being logged for a savepoint
+     */
+    boolean hasOpenSavepoint() {
+        return openSavepoints > 0;
+    }
+
+    /**
+     * Reverses every change made since a savepoint, most recent first, and puts the undo and redo
+     * history and the transaction back as they were when it was opened. The savepoint is released.
+     * Savepoints must be rolled back or released in the reverse of the order they were opened.
+     *
+     * @param savepoint the savepoint to go back to
+     * @param taskList the list the changes were applied to
+     */
+    void rollBackTo(Savepoint savepoint, TaskList taskList) {
+        int end = log.size();
+        for (int i = end - 1; i >= savepoint.logPosition; i--) {
+            log.get(i).reverse(taskList);
+        }
+        if (end > savepoint.logPosition) {
+            log.subList(savepoint.logPosition, end).clear();
+            changeCount++;
+        }
+        undoStack = new ArrayDeque<>(savepoint.undoStack);
+        redoStack = new ArrayDeque<>(savepoint.redoStack);
+        transactionStart = savepoint.transactionStart;
+        undoStackAtBegin = savepoint.undoStackAtBegin;
+        redoStackAtBegin = savepoint.redoStackAtBegin;
+        release(savepoint);
+    }
+
+    /**
+     * Keeps the changes made since a savepoint and closes it.
+     *
+     * @param savepoint the savepoint to close
+     */
+    void release(Savepoint savepoint) {
+        assert openSavepoints > 0 : "The savepoint was already released";
+        openSavepoints--;
+        trimLog();
+    }
+
+    /**
+     * Drops logged changes that no open transaction or savepoint can roll back any more.
+     */
+    private void trimLog() {
+        if (openSavepoints > 0) {
+            return;
+        }
+        if (isInTransaction()) {
+            log.subList(0, transactionStart).clear();
+            transactionStart = 0;
+        } else {
+            log = null;
+        }
+    }
+
+    /**
+     * Logs a change for the open transaction or savepoint, if there is one.
+     *
+     * @param change the change
+     * @param wasUndone true if the change was undone rather than applied or redone
+     */
+    private void log(TaskChange change, boolean wasUndone) {
+        if (log != null) {
+            log.add(new LoggedChange(change, wasUndone));
+        }
+    }
+
+    /**
+     * A logged change, with the direction it was applied in.
+     */
+    private static class LoggedChange {
+        private final TaskChange change;
+        private final boolean wasUndone;
+
+        private LoggedChange(TaskChange change, boolean wasUndone) {
+            this.change = change;
+            this.wasUndone = wasUndone;
+        }
+
+        /**
+         * Applies the change in the opposite direction to the one it was logged in.
+         *
+         * @param taskList the list the change was applied to
+         */
+        private void reverse(TaskList taskList) {
+            if (wasUndone) {
+                change.redo(taskList);
+            } else {
+                change.undo(taskList);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package bob.tasklist;
+
+import bob.task.Task;
+
+/**
+ * An index over tasks that a TaskList keeps up to date as tasks are added, removed or changed.
+ */
+interface TaskIndex {
+    /**
+     * Records a task that was added to the list.
+     *
+     * @param task the added task
+     */
+    void add(Task task);
+
+    /**
+     * Forgets a task that was removed from the list.
+     *
+     * @param task the removed task
+     */
+    void remove(Task task);
+
+    /**
+     * Records that a task in the list changed from not done to done, or back.
+     * Only called when the status actually changes. Indexes that do not depend on completion
+     * status can ignore this.
+     *
+     * @param task the changed task
+     */
+    default void update(Task task) {
+    }
+}
@@ -1,14 +1,23 @@
 package bob.tasklist;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import bob.exception.BobException;
-import bob.task.Deadline;
 import bob.task.Event;
 import bob.task.Task;
 
@@ -16,7 +25,31 @@ import bob.task.Task;
  * Collection of tasks.
  */
 public class TaskList {
+    /**
+     * List size from which searches are split across cores instead of run on one thread.
+     * Measure it on the target hosts with SearchBenchmark, and override it with -Dbob.parallelSearchThreshold=N.
+     */
+    static final int PARALLEL_SEARCH_THRESHOLD = Integer.getInteger("bob.parallelSearchThreshold", 20_000);
+    /** Whether searches are split at all; on one core, SearchBenchmark found parallel search never paid off. */
+    private static final boolean CAN_SEARCH_IN_PARALLEL = Runtime.getRuntime().availableProcessors() > 1;
+    /** How far saved IDs may run past the number of tasks before they are treated as corrupt. */
+    public static final int MAX_ID_HEADROOM = 1_000_000;
+    /** Number of changes kept for undo. */
+    private static final int HISTORY_LIMIT = 100;
+
     private List<Task> tasks;
+    private final TermIndex termIndex = new TermIndex();
+    private final UpcomingIndex upcomingIndex = new UpcomingIndex();
+    private final StatisticsIndex statisticsIndex = new StatisticsIndex();
+    private final EventIndex eventIndex = new EventIndex();
+    private final TagIndex tagIndex = new TagIndex();
+    private final IdIndex idIndex = new IdIndex();
+    private final List<TaskIndex> indexes = List.of(idIndex, termIndex, tagIndex, upcomingIndex, eventIndex,
+            statisticsIndex);
+    private int nextId = 1;
+    private boolean areIdsAscending = true;
+    private int parallelSearchThreshold = CAN_SEARCH_IN_PARALLEL ? PARALLEL_SEARCH_THRESHOLD : Integer.MAX_VALUE;
+    private final TaskHistory history = new TaskHistory(HISTORY_LIMIT);
 
     /**
      * Constructs an empty TaskList.
@@ -27,11 +60,43 @@ public class TaskList {
 
     /**
      * Constructs a TaskList with the given tasks.
+     * Tasks keep the IDs they were saved with; tasks without an ID are given new ones.
      *
      * @param tasks the initial list of tasks
      */
     public TaskList(List<Task> tasks) {
+        this(tasks, null);
+    }
+
+    /**
+     * Constructs a TaskList with the given tasks, restoring the word index from a saved copy.
+     * If the saved index is missing or does not fit the tasks, the word index is built from the descriptions.
+     * Tasks whose saved ID is beyond the number of tasks plus MAX_ID_HEADROOM, as only a corrupt or
+     * hand-edited file can give, get new IDs so that later IDs cannot overflow.
+     *
+     * @param tasks the initial list of tasks
+     * @param searchIndex the data written by writeSearchIndex for these tasks, or null
+     */
+    public TaskList(List<Task> tasks, ByteBuffer searchIndex) {
         this.tasks = new ArrayList<>(tasks);
+        long maxId = (long) this.tasks.size() + MAX_ID_HEADROOM;
+        this.tasks.stream()
+                .filter(task -> task.getId() <= maxId)
+                .forEach(task -> nextId = Math.max(nextId, task.getId() + 1));
+        boolean isRestored = searchIndex != null && termIndex.readFrom(searchIndex, this.tasks);
+        this.tasks.forEach(task -> {
+            if (task.getId() > maxId) {
+                task.setId(nextId);
+            }
+            assignId(task);
+            task.getSortKey();
+            for (TaskIndex index : indexes) {
+                if (index != termIndex || !isRestored) {
+                    index.add(task);
+                }
+            }
+        });
+        areIdsAscending = hasAscendingIds();
     }
 
     /**
@@ -40,7 +105,19 @@ public class TaskList {
      * @param tasks the task(s) to add
      */
     public void addTask(Task... tasks) {
-        Arrays.stream(tasks).forEach(this.tasks::add);
+        if (tasks.length == 0) {
+            return;
+        }
+        int[] indices = IntStream.range(this.tasks.size(), this.tasks.size() + tasks.length).toArray();
+        Arrays.stream(tasks).forEach(task -> {
+            assignId(task);
+            if (!this.tasks.isEmpty() && this.tasks.get(this.tasks.size() - 1).getId() > task.getId()) {
+                areIdsAscending = false;
+            }
+            this.tasks.add(task);
+            indexAdded(task);
+        });
+        history.record(TaskChange.added(indices, List.of(tasks)));
     }
 
     /**
@@ -58,9 +135,27 @@ public class TaskList {
         assert index >= 0 && index < tasks.size() : "Index must be valid before deletion";
         Task deletedTask = tasks.remove(index);
         assert deletedTask != null : "Deleted task should not be null";
+        indexRemoved(deletedTask);
+        history.record(TaskChange.deleted(new int[] {index}, List.of(deletedTask)));
         return deletedTask;
     }
 
+    /**
+     * Deletes the tasks at the specified indices in a single pass.
+     * The remaining tasks are compacted once, so every index refers to the list as it was
+     * before the call.
+     *
+     * @param indices the distinct indices of the tasks to delete, in ascending order
+     * @return the deleted tasks, in list order
+     * @throws BobException if any index is invalid; no task is deleted in that case
+     */
+    public List<Task> deleteTasks(int... indices) throws BobException {
+        checkIndices(indices);
+        List<Task> deletedTasks = removeTasks(indices);
+        history.record(TaskChange.deleted(indices.clone(), deletedTasks));
+        return deletedTasks;
+    }
+
     /**
      * Gets a task at the specified index.
      *
@@ -88,7 +183,7 @@ public class TaskList {
     public void markTask(int index) throws BobException {
         Task task = getTask(index);
         assert task != null : "Task must exist before marking";
-        task.markAsDone();
+        recordStatusChange(setDone(List.of(task), true), true);
         assert task.isDone() : "Task should be marked as done after markAsDone()";
     }
 
@@ -101,10 +196,284 @@ public class TaskList {
     public void unmarkTask(int index) throws BobException {
         Task task = getTask(index);
         assert task != null : "Task must exist before unmarking";
-        task.unmarkAsDone();
+        recordStatusChange(setDone(List.of(task), false), false);
         assert !task.isDone() : "Task should not be marked as done after unmarkAsDone()";
     }
 
+    /**
+     * Marks the tasks at the specified indices as done.
+     *
+     * @param indices the indices of the tasks to mark
+     * @return the marked tasks
+     * @throws BobException if any index is invalid; no task is marked in that case
+     */
+    public List<Task> markTasks(int... indices) throws BobException {
+        checkIndices(indices);
+        List<Task> markedTasks = Arrays.stream(indices).mapToObj(tasks::get).collect(Collectors.toList());
+        recordStatusChange(setDone(markedTasks, true), true);
+        return markedTasks;
+    }
+
+    /**
+     * Marks the tasks at the specified indices as not done.
+     *
+     * @param indices the indices of the tasks to unmark
+     * @return the unmarked tasks
+     * @throws BobException if any index is invalid; no task is unmarked in that case
+     */
+    public List<Task> unmarkTasks(int... indices) throws BobException {
+        checkIndices(indices);
+        List<Task> unmarkedTasks = Arrays.stream(indices).mapToObj(tasks::get).collect(Collectors.toList());
+        recordStatusChange(setDone(unmarkedTasks, false), false);
+        return unmarkedTasks;
+    }
+
+    /**
+     * Gets a task by its stable ID in constant time.
+     *
+     * @param id the task ID
+     * @return the task
+     * @throws BobException if no task has the ID
+     */
+    public Task getTaskById(int id) throws BobException {
+        Task task = idIndex.get(id);
+        if (task == null) {
+            throw new BobException("There's no task with ID #" + id + " in your list.");
+        }
+        return task;
+    }
+
+    /**
+     * Marks the tasks with the given IDs as done.
+     *
+     * @param ids the task IDs
+     * @return the marked tasks
+     * @throws BobException if any ID is unknown; no task is marked in that case
+     */
+    public List<Task> markTasksById(int... ids) throws BobException {
+        List<Task> markedTasks = getTasksById(ids);
+        recordStatusChange(setDone(markedTasks, true), true);
+        return markedTasks;
+    }
+
+    /**
+     * Marks the tasks with the given IDs as not done.
+     *
+     * @param ids the task IDs
+     * @return the unmarked tasks
+     * @throws BobException if any ID is unknown; no task is unmarked in that case
+     */
+    public List<Task> unmarkTasksById(int... ids) throws BobException {
+        List<Task> unmarkedTasks = getTasksById(ids);
+        recordStatusChange(setDone(unmarkedTasks, false), false);
+        return unmarkedTasks;
+    }
+
+    /**
+     * Deletes the tasks with the given IDs, finding their positions in one pass over the list.
+     *
+     * @param ids the task IDs
+     * @return the deleted tasks, in list order
+     * @throws BobException if any ID is unknown; no task is deleted in that case
+     */
+    public List<Task> deleteTasksById(int... ids) throws BobException {
+        Set<Task> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(getTasksById(ids));
+        int[] indices = IntStream.range(0, tasks.size())
+                .filter(i -> targets.contains(tasks.get(i)))
+                .toArray();
+        return deleteTasks(indices);
+    }
+
+    /**
+     * Looks up the tasks with the given IDs.
+     *
+     * @param ids the task IDs
+     * @return the tasks, in the order of the IDs
+     * @throws BobException if any ID is unknown
+     */
+    private List<Task> getTasksById(int[] ids) throws BobException {
+        List<Task> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            found.add(getTaskById(id));
+        }
+        return found;
+    }
+
+    /**
+     * Undoes the most recent changes to the list.
+     *
+     * @param steps the number of changes to undo
+     * @return descriptions of the changes undone, most recent first
+     * @throws BobException if there is nothing to undo
+     */
+    public List<String> undo(int steps) throws BobException {
+        List<String> undone = new ArrayList<>();
+        TaskChange change;
+        while (undone.size() < steps && (change = history.nextUndo()) != null) {
+            change.undo(this);
+            undone.add(change.describe());
+        }
+        if (undone.isEmpty()) {
+            throw new BobException("Nothing to undo!");
+        }
+        return undone;
+    }
+
+    /**
+     * Redoes the most recently undone changes to the list.
+     *
+     * @param steps the number of changes to redo
+     * @return descriptions of the changes redone, in the order they were reapplied
+     * @throws BobException if there is nothing to redo
+     */
+    public List<String> redo(int steps) throws BobException {
+        List<String> redone = new ArrayList<>();
+        TaskChange change;
+        while (redone.size() < steps && (change = history.nextRedo()) != null) {
+            change.redo(this);
+            redone.add(change.describe());
+        }
+        if (redone.isEmpty()) {
+            throw new BobException("Nothing to redo!");
+        }
+        return redone;
+    }
+
+    /**
+     * Writes the word index, so a later TaskList over the same tasks in the same order can restore
+     * it instead of tokenizing every description again.
+     *
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeSearchIndex(DataOutput out) throws IOException {
+        termIndex.writeTo(out, tasks);
+    }
+
+    /**
+     * Opens a transaction. Changes made until it is committed or rolled back can be reversed together.
+     *
+     * @throws BobException if a transaction is already open
+     */
+    public void beginTransaction() throws BobException {
+        if (history.isInTransaction()) {
+            throw new BobException("A transaction is already open! Use commit or rollback first.");
+        }
+        history.begin();
+    }
+
+    /**
+     * Keeps the changes made in the open transaction.
+     *
+     * @return the number of changes kept
+     * @throws BobException if no transaction is open
+     */
+    public int commitTransaction() throws BobException {
+        requireTransaction();
+        int size = history.getTransactionSize();
+        history.commit();
+        return size;
+    }
+
+    /**
+     * Reverses every change made in the open transaction, including undos and redos, and restores
+     * the undo history to how it was when the transaction began.
+     *
+     * @return the number of changes reversed
+     * @throws BobException if no transaction is open
+     */
+    public int rollBackTransaction() throws BobException {
+        requireTransaction();
+        int size = history.getTransactionSize();
+        history.rollBack(this);
+        return size;
+    }
+
+    /**
+     * Checks if a transaction is open.
+     *
+     * @return true if changes are being collected for a commit or rollback
+     */
+    public boolean isInTransaction() {
+        return history.isInTransaction();
+    }
+
+    /**
+     * Opens a savepoint, so the changes made after it can be rolled back whether or not a transaction
+     * is open. Savepoints must be rolled back or released in the reverse of the order they were opened.
+     *
+     * @return the savepoint
+     */
+    public Savepoint createSavepoint() {
+        return history.openSavepoint();
+    }
+
+    /**
+     * Reverses every change made since a savepoint, including any transaction begun, committed or
+     * rolled back since, and releases it.
+     *
+     * @param savepoint the savepoint from createSavepoint
+     */
+    public void rollBackTo(Savepoint savepoint) {
+        history.rollBackTo(savepoint, this);
+    }
+
+    /**
+     * Keeps the changes made since a savepoint and releases it.
+     *
+     * @param savepoint the savepoint from createSavepoint
+     */
+    public void releaseSavepoint(Savepoint savepoint) {
+        history.release(savepoint);
+    }
+
+    /**
+     * Checks if a savepoint is open.
+     *
+     * @return true if changes are being logged for a savepoint
+     */
+    public boolean hasOpenSavepoint() {
+        return history.hasOpenSavepoint();
+    }
+
+    /**
+     * Checks that a transaction is open.
+     *
+     * @throws BobException if no transaction is open
+     */
+    private void requireTransaction() throws BobException {
+        if (!history.isInTransaction()) {
+            throw new BobException("No transaction is open! Start one with begin.");
+        }
+    }
+
+    /**
+     * Counts the changes made to the list, including undos and redos.
+     * Comparing two counts tells whether the list changed in between, e.g., since it was last saved.
+     *
+     * @return the number of changes applied since the list was created
+     */
+    public long getChangeCount() {
+        return history.getChangeCount();
+    }
+
+    /**
+     * Checks that every index refers to a task and that the indices are strictly ascending.
+     *
+     * @param indices the indices to check
+     * @throws BobException if any index is invalid
+     */
+    private void checkIndices(int[] indices) throws BobException {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= tasks.size()) {
+                throw new BobException("That task number doesn't exist in your list. "
+                        + "You have " + tasks.size() + " task(s).");
+            }
+            assert i == 0 || indices[i - 1] < indices[i] : "Indices must be distinct and ascending";
+        }
+    }
+
     /**
      * Gets a copy of all tasks.
      *
@@ -114,6 +483,27 @@ public class TaskList {
         return new ArrayList<>(tasks);
     }
 
+    /**
+     * Gets one page of tasks.
+     * Only the tasks on the requested page are copied.
+     *
+     * @param pageNumber the 1-based page number
+     * @param pageSize the maximum number of tasks per page
+     * @return the requested page
+     * @throws BobException if the page does not exist
+     */
+    public TaskPage getPage(int pageNumber, int pageSize) throws BobException {
+        assert pageNumber > 0 && pageSize > 0 : "Page number and size must be positive";
+        int pageCount = TaskPage.countPages(tasks.size(), pageSize);
+        if (pageNumber > pageCount) {
+            throw new BobException("That page doesn't exist. "
+                    + "You have " + pageCount + " page(s) of tasks.");
+        }
+        int offset = (pageNumber - 1) * pageSize;
+        int end = Math.min(tasks.size(), offset + pageSize);
+        return new TaskPage(new ArrayList<>(tasks.subList(offset, end)), pageNumber, pageSize, tasks.size());
+    }
+
     /**
      * Gets the number of tasks.
      *
@@ -139,17 +529,8 @@ public class TaskList {
      * @return matching tasks
      */
     public List<Task> findTasksByDate(LocalDate searchDate) {
-        return tasks.stream()
-                .filter(t -> {
-                    if (t instanceof Deadline) {
-                        Deadline d = (Deadline) t;
-                        return d.getDate().equals(searchDate);
-                    } else if (t instanceof Event) {
-                        Event e = (Event) t;
-                        return !e.getFromDate().isAfter(searchDate) && !e.getToDate().isBefore(searchDate);
-                    }
-                    return false;
-                })
+        return searchStream()
+                .filter(t -> t.occursOn(searchDate))
                 .collect(Collectors.toList());
     }
 
@@ -161,15 +542,299 @@ public class TaskList {
      */
     public List<Task> findTasksByKeyword(String keyword) {
         String lowerKeyword = keyword.toLowerCase();
-        return tasks.stream()
-                .filter(t -> t.getDescription().toLowerCase().contains(lowerKeyword))
+        return searchStream()
+                .filter(t -> t.getSortKey().contains(lowerKeyword))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Sorts tasks alphabetically.
+     * Finds tasks matching a compiled query in a single pass over the list.
+     * A query with only #tag conditions takes its matches from the tag index's bitmaps instead and
+     * orders them by ID, as long as the IDs ascend in list order so that is also list order.
+     *
+     * @param query the query to match
+     * @return matching tasks, in list order
+     */
+    public List<Task> findTasks(TaskQuery query) {
+        if (query.hasOnlyTagConditions() && areIdsAscending) {
+            List<Task> found = query.findTaggedTasks(tagIndex);
+            found.sort(Comparator.comparingInt(Task::getId));
+            return found;
+        }
+        Predicate<Task> filter = query.compile(termIndex, tagIndex);
+        return searchStream()
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the tasks matching a query that are most relevant to its words, most relevant first.
+     * Matches are scored with BM25 and only the best count are kept in a bounded heap, so ranking
+     * many matches costs little more than finding them. Tasks with equal scores keep list order.
+     *
+     * @param query the query to match
+     * @param count the maximum number of tasks to return
+     * @return up to count matching tasks, most relevant first
+     */
+    public List<Task> findTopTasks(TaskQuery query, int count) {
+        assert count > 0 : "Count must be positive";
+        Predicate<Task> filter = query.compile(termIndex, tagIndex);
+        List<String> rankingTerms = query.getRankingTerms();
+        // The weakest of the best matches so far sits on top, ready to be replaced
+        PriorityQueue<ScoredTask> best = new PriorityQueue<>(Comparator.comparingDouble(ScoredTask::getScore)
+                .thenComparing(Comparator.comparingInt(ScoredTask::getPosition).reversed()));
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!filter.test(task)) {
+                continue;
+            }
+            ScoredTask scored = new ScoredTask(task, termIndex.score(task, rankingTerms), i);
+            if (best.size() < count) {
+                best.add(scored);
+            } else if (best.comparator().compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+        Task[] ranked = new Task[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().getTask();
+        }
+        return Arrays.asList(ranked);
+    }
+
+    /**
+     * Finds the next deadlines and events that are not done yet, earliest first.
+     * Deadlines are ordered by due date and events by start date; anything dated before today is left out.
+     *
+     * @param today the current date
+     * @param count the maximum number of tasks to return
+     * @return up to count upcoming tasks
+     */
+    public List<Task> findUpcomingTasks(LocalDate today, int count) {
+        return upcomingIndex.getUpcoming(today, count);
+    }
+
+    /**
+     * Finds the events not done yet that share at least one day with the given event.
+     *
+     * @param event the event to check, which may or may not be in the list
+     * @return the other overlapping events, ordered by start date
+     */
+    public List<Event> findConflicts(Event event) {
+        return eventIndex.findOverlapping(event);
+    }
+
+    /**
+     * Finds every pair of events not done yet that share at least one day.
+     *
+     * @return the overlapping pairs, ordered by the start date of the later event
+     */
+    public List<EventConflict> findAllConflicts() {
+        return eventIndex.findAllConflicts();
+    }
+
+    /**
+     * Gets counts of tasks by type and status, including overdue deadlines and deadlines due this week.
+     * The counts are kept up to date as tasks change, so this does not scan the list.
+     *
+     * @param today the current date
+     * @return the task statistics
+     */
+    public TaskStatistics getStatistics(LocalDate today) {
+        return statisticsIndex.getStatistics(today);
+    }
+
+    /**
+     * Returns a stream over the tasks for searching.
+     * Large lists get a parallel stream on machines with more than one core, which splits the backing
+     * list across the common fork/join pool; collecting it still keeps results in list order.
+     * Every task's sort key is computed when it is added, so parallel workers never wait on the
+     * lock of the shared DescriptionPool.
+     *
+     * @return a sequential or parallel stream of the tasks
+     */
+    private Stream<Task> searchStream() {
+        return tasks.size() >= parallelSearchThreshold ? tasks.parallelStream() : tasks.stream();
+    }
+
+    /**
+     * Sets the list size from which searches run in parallel, for SearchBenchmark and tests to compare
+     * both ways whatever the number of cores.
+     *
+     * @param threshold the size, 0 to always search in parallel or Integer.MAX_VALUE to never
+     */
+    void setParallelSearchThreshold(int threshold) {
+        parallelSearchThreshold = threshold;
+    }
+
+    /**
+     * Sorts tasks alphabetically, ignoring case.
      */
     public void sortTasks() {
-        tasks.sort(Comparator.comparing(task -> task.getDescription().toLowerCase()));
+        int[] order = IntStream.range(0, tasks.size())
+                .boxed()
+                .sorted(Comparator.comparing(i -> tasks.get(i).getSortKey()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        boolean isAlreadySorted = IntStream.range(0, order.length).allMatch(i -> order[i] == i);
+        if (!isAlreadySorted) {
+            reorder(order);
+            history.record(TaskChange.reordered(order));
+        }
+    }
+
+    /**
+     * Inserts tasks so that they end up at the given positions.
+     *
+     * @param indices the final positions of the inserted tasks, in ascending order
+     * @param insertedTasks the tasks to insert
+     */
+    void insertTasks(int[] indices, List<Task> insertedTasks) {
+        assert indices.length == insertedTasks.size() : "Each inserted task needs a position";
+        List<Task> mergedTasks = new ArrayList<>(tasks.size() + indices.length);
+        int next = 0;
+        int existing = 0;
+        while (mergedTasks.size() < tasks.size() + indices.length) {
+            if (next < indices.length && indices[next] == mergedTasks.size()) {
+                mergedTasks.add(insertedTasks.get(next++));
+            } else {
+                mergedTasks.add(tasks.get(existing++));
+            }
+        }
+        tasks = mergedTasks;
+        insertedTasks.forEach(this::indexAdded);
+        areIdsAscending = hasAscendingIds();
+    }
+
+    /**
+     * Removes the tasks at the given positions, compacting the list once.
+     *
+     * @param indices the valid, distinct positions to remove, in ascending order
+     * @return the removed tasks, in list order
+     */
+    List<Task> removeTasks(int[] indices) {
+        List<Task> removedTasks = new ArrayList<>(indices.length);
+        List<Task> remainingTasks = new ArrayList<>(tasks.size() - indices.length);
+        int next = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (next < indices.length && indices[next] == i) {
+                removedTasks.add(tasks.get(i));
+                next++;
+            } else {
+                remainingTasks.add(tasks.get(i));
+            }
+        }
+        assert next == indices.length : "Every index should have been removed";
+        tasks = remainingTasks;
+        removedTasks.forEach(this::indexRemoved);
+        areIdsAscending = hasAscendingIds();
+        return removedTasks;
+    }
+
+    /**
+     * Sets the completion status of the given tasks.
+     *
+     * @param targets the tasks, all in this list
+     * @param isDone the status to set
+     * @return the tasks whose status actually changed
+     */
+    List<Task> setDone(List<Task> targets, boolean isDone) {
+        List<Task> changedTasks = new ArrayList<>(targets.size());
+        for (Task task : targets) {
+            if (task.isDone() == isDone) {
+                continue;
+            }
+            if (isDone) {
+                task.markAsDone();
+            } else {
+                task.unmarkAsDone();
+            }
+            indexUpdated(task);
+            changedTasks.add(task);
+        }
+        return changedTasks;
+    }
+
+    /**
+     * Rearranges the list so that position i holds the task previously at order[i].
+     *
+     * @param order a permutation of the list positions
+     */
+    void reorder(int[] order) {
+        assert order.length == tasks.size() : "Order must cover every task";
+        List<Task> reorderedTasks = new ArrayList<>(tasks.size());
+        for (int index : order) {
+            reorderedTasks.add(tasks.get(index));
+        }
+        tasks = reorderedTasks;
+        areIdsAscending = hasAscendingIds();
+    }
+
+    /**
+     * Checks if task IDs ascend in list order, as they do until the list is sorted or reordered.
+     *
+     * @return true if every task's ID is greater than the one before it
+     */
+    private boolean hasAscendingIds() {
+        for (int i = 1; i < tasks.size(); i++) {
+            if (tasks.get(i - 1).getId() > tasks.get(i).getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a change of completion status in the history if any task actually changed.
+     *
+     * @param changedTasks the tasks whose status changed
+     * @param isDone the new status
+     */
+    private void recordStatusChange(List<Task> changedTasks, boolean isDone) {
+        if (!changedTasks.isEmpty()) {
+            history.record(TaskChange.statusChanged(changedTasks, isDone));
+        }
+    }
+
+    /**
+     * Gives a task a new ID if it has none or its ID is already taken by another task.
+     *
+     * @param task the task being added
+     */
+    private void assignId(Task task) {
+        Task existing = idIndex.get(task.getId());
+        if (task.getId() == 0 || (existing != null && existing != task)) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+    }
+
+    /**
+     * Records an added task in every index.
+     *
+     * @param task the added task
+     */
+    private void indexAdded(Task task) {
+        task.getSortKey();
+        indexes.forEach(index -> index.add(task));
+    }
+
+    /**
+     * Removes a deleted task from every index.
+     *
+     * @param task the deleted task
+     */
+    private void indexRemoved(Task task) {
+        indexes.forEach(index -> index.remove(task));
+    }
+
+    /**
+     * Records a change in a task's completion status in every index.
+     *
+     * @param task the changed task
+     */
+    private void indexUpdated(Task task) {
+        indexes.forEach(index -> index.update(task));
     }
 }
@@ -0,0 +1,114 @@
+package bob.tasklist;
+
+import java.util.List;
+
+import bob.task.Task;
+
+/**
+ * A single page of tasks taken from a TaskList.
+ * Holds only the tasks in the requested window, so large lists can be shown a page at a time.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final int pageNumber;
+    private final int pageSize;
+    private final int totalTasks;
+
+    /**
+     * Constructs a TaskPage.
+     *
+     * @param tasks the tasks on this page
+     * @param pageNumber the 1-based page number
+     * @param pageSize the maximum number of tasks per page
+     * @param totalTasks the number of tasks in the whole list
+     */
+    TaskPage(List<Task> tasks, int pageNumber, int pageSize, int totalTasks) {
+        this.tasks = tasks;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalTasks = totalTasks;
+    }
+
+    /**
+     * Gets the tasks on this page.
+     *
+     * @return the tasks on this page
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Gets the 1-based page number.
+     *
+     * @return the page number
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * Gets the maximum number of tasks per page.
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the 0-based position of the first task on this page within the whole list.
+     *
+     * @return the offset of this page
+     */
+    public int getOffset() {
+        return (pageNumber - 1) * pageSize;
+    }
+
+    /**
+     * Gets the number of tasks in the whole list.
+     *
+     * @return the total number of tasks
+     */
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    /**
+     * Gets the number of pages needed to show the whole list.
+     *
+     * @return the number of pages, at least 1
+     */
+    public int getPageCount() {
+        return countPages(totalTasks, pageSize);
+    }
+
+    /**
+     * Counts the pages needed to show a number of tasks, without overflowing for huge page sizes.
+     *
+     * @param totalTasks the number of tasks
+     * @param pageSize the maximum number of tasks per page
+     * @return the number of pages, at least 1
+     */
+    static int countPages(int totalTasks, int pageSize) {
+        return (int) Math.max(1, ((long) totalTasks + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Checks if there are tasks after this page.
+     *
+     * @return true if a next page exists
+     */
+    public boolean hasNextPage() {
+        return getOffset() + tasks.size() < totalTasks;
+    }
+
+    /**
+     * Checks if this page shows the whole list.
+     *
+     * @return true if every task fits on this page
+     */
+    public boolean isComplete() {
+        return pageNumber == 1 && !hasNextPage();
+    }
+}
@@ -0,0 +1,199 @@
+package bob.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import bob.task.Deadline;
+import bob.task.Event;
+import bob.task.Task;
+
+/**
+ * A search over tasks made up of conditions that must all hold.
+ * Conditions are collected while the query is parsed and compiled once into a single predicate,
+ * with tag, type, status and date checks ordered before text matching.
+ * Text is matched against each task's cached lowercased description (its sort key).
+ */
+public class TaskQuery {
+    private final List<Predicate<Task>> conditions = new ArrayList<>();
+    private final List<Predicate<Task>> textConditions = new ArrayList<>();
+    private final List<String> similarWords = new ArrayList<>();
+    private final List<List<String>> tagGroups = new ArrayList<>();
+    private final List<String> rankingTerms = new ArrayList<>();
+
+    /**
+     * Requires tasks to be of the given type.
+     *
+     * @param type the task class to match (Todo, Deadline or Event)
+     */
+    public void requireType(Class<? extends Task> type) {
+        conditions.add(type::isInstance);
+    }
+
+    /**
+     * Requires tasks to have the given completion status.
+     *
+     * @param isDone true to match done tasks, false to match tasks not done
+     */
+    public void requireDone(boolean isDone) {
+        conditions.add(task -> task.isDone() == isDone);
+    }
+
+    /**
+     * Requires tasks to have a date before the given date.
+     * A deadline matches if it is due before the date; an event matches if it starts before the date.
+     * Recurring tasks are compared by their first occurrence.
+     *
+     * @param date the exclusive upper bound
+     */
+    public void requireBefore(LocalDate date) {
+        conditions.add(task -> {
+            if (task instanceof Deadline) {
+                return ((Deadline) task).getDate().isBefore(date);
+            } else if (task instanceof Event) {
+                return ((Event) task).getFromDate().isBefore(date);
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Requires tasks to have a date after the given date.
+     * A deadline matches if it is due after the date; an event matches if it ends after the date.
+     * Recurring deadlines and events always have a later occurrence, so they always match.
+     *
+     * @param date the exclusive lower bound
+     */
+    public void requireAfter(LocalDate date) {
+        conditions.add(task -> {
+            if (task.isRecurring()) {
+                return true;
+            } else if (task instanceof Deadline) {
+                return ((Deadline) task).getDate().isAfter(date);
+            } else if (task instanceof Event) {
+                return ((Event) task).getToDate().isAfter(date);
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Requires tasks to fall on the given date.
+     *
+     * @param date the date to match
+     */
+    public void requireOn(LocalDate date) {
+        conditions.add(task -> task.occursOn(date));
+    }
+
+    /**
+     * Requires task descriptions to contain the given text, ignoring case.
+     *
+     * @param text the word or phrase to match
+     */
+    public void requireText(String text) {
+        String lowerText = text.toLowerCase();
+        textConditions.add(task -> task.getSortKey().contains(lowerText));
+        rankingTerms.addAll(TermIndex.tokenize(lowerText));
+    }
+
+    /**
+     * Requires task descriptions not to contain the given text, ignoring case.
+     *
+     * @param text the word or phrase to exclude
+     */
+    public void excludeText(String text) {
+        String lowerText = text.toLowerCase();
+        textConditions.add(task -> !task.getSortKey().contains(lowerText));
+    }
+
+    /**
+     * Requires task descriptions to contain a word close to the given word, allowing for typos.
+     * Similar words are looked up in the task list's word index when the query is compiled.
+     *
+     * @param word the possibly misspelled word
+     */
+    public void requireSimilarWord(String word) {
+        similarWords.add(word);
+        rankingTerms.addAll(TermIndex.tokenize(word));
+    }
+
+    /**
+     * Requires tasks to carry at least one of the given #tags.
+     * Tags are looked up in the task list's tag index when the query is compiled.
+     *
+     * @param tags the tags, without the '#'
+     */
+    public void requireAnyTag(List<String> tags) {
+        tagGroups.add(List.copyOf(tags));
+    }
+
+    /**
+     * Checks if the query has no conditions.
+     *
+     * @return true if the query matches every task
+     */
+    public boolean isEmpty() {
+        return conditions.isEmpty() && textConditions.isEmpty() && similarWords.isEmpty() && tagGroups.isEmpty();
+    }
+
+    /**
+     * Checks if the query only has #tag conditions, so its matches are exactly the IDs in the tag bitmap.
+     *
+     * @return true if the query has tag conditions and no others
+     */
+    boolean hasOnlyTagConditions() {
+        return !tagGroups.isEmpty() && conditions.isEmpty() && textConditions.isEmpty() && similarWords.isEmpty();
+    }
+
+    /**
+     * Finds the tasks matching every tag condition through the tag index's bitmaps.
+     *
+     * @param tagIndex the tag index of the task list being searched
+     * @return the tasks matching every tag condition, in no particular order
+     */
+    List<Task> findTaggedTasks(TagIndex tagIndex) {
+        return tagIndex.findTasks(tagGroups);
+    }
+
+    /**
+     * Gets the words that make a matching task more relevant: the required words and phrases,
+     * and typo-tolerant words as typed.
+     *
+     * @return the lowercase words to rank by
+     */
+    List<String> getRankingTerms() {
+        return rankingTerms;
+    }
+
+    /**
+     * Compiles the conditions into one predicate that checks them all in a single call.
+     * Tag conditions are combined through the tag index's bitmaps and similar-word conditions are
+     * resolved against the word index, both up front, so they become set lookups.
+     *
+     * @param termIndex the word index of the task list being searched
+     * @param tagIndex the tag index of the task list being searched
+     * @return the compiled predicate
+     */
+    Predicate<Task> compile(TermIndex termIndex, TagIndex tagIndex) {
+        Predicate<Task> compiled = task -> true;
+        if (!tagGroups.isEmpty()) {
+            Set<Task> tagged = new HashSet<>(findTaggedTasks(tagIndex));
+            compiled = tagged::contains;
+        }
+        for (String word : similarWords) {
+            Set<Task> matches = termIndex.findSimilar(word);
+            compiled = compiled.and(matches::contains);
+        }
+        for (Predicate<Task> condition : conditions) {
+            compiled = compiled.and(condition);
+        }
+        for (Predicate<Task> condition : textConditions) {
+            compiled = compiled.and(condition);
+        }
+        return compiled;
+    }
+}
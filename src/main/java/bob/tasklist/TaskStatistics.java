@@ -0,0 +1,133 @@
+package bob.tasklist;
+
+/**
+ * A snapshot of counts describing a task list.
+ */
+public class TaskStatistics {
+    private final int todoCount;
+    private final int deadlineCount;
+    private final int eventCount;
+    private final int doneCount;
+    private final int overdueCount;
+    private final int dueThisWeekCount;
+    private final long sharedDescriptionBytes;
+
+    /**
+     * Constructs a TaskStatistics snapshot.
+     *
+     * @param todoCount the number of todos
+     * @param deadlineCount the number of deadlines
+     * @param eventCount the number of events
+     * @param doneCount the number of tasks marked as done
+     * @param overdueCount the number of undone deadlines due before today
+     * @param dueThisWeekCount the number of undone deadlines due in the seven days starting today
+     * @param sharedDescriptionBytes the estimated heap saved by sharing identical descriptions
+     */
+    TaskStatistics(int todoCount, int deadlineCount, int eventCount, int doneCount,
+            int overdueCount, int dueThisWeekCount, long sharedDescriptionBytes) {
+        this.todoCount = todoCount;
+        this.deadlineCount = deadlineCount;
+        this.eventCount = eventCount;
+        this.doneCount = doneCount;
+        this.overdueCount = overdueCount;
+        this.dueThisWeekCount = dueThisWeekCount;
+        this.sharedDescriptionBytes = sharedDescriptionBytes;
+    }
+
+    /**
+     * Gets the number of todos.
+     *
+     * @return the number of todos
+     */
+    public int getTodoCount() {
+        return todoCount;
+    }
+
+    /**
+     * Gets the number of deadlines.
+     *
+     * @return the number of deadlines
+     */
+    public int getDeadlineCount() {
+        return deadlineCount;
+    }
+
+    /**
+     * Gets the number of events.
+     *
+     * @return the number of events
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public int getTotalCount() {
+        return todoCount + deadlineCount + eventCount;
+    }
+
+    /**
+     * Gets the number of tasks marked as done.
+     *
+     * @return the number of tasks marked as done
+     */
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    /**
+     * Gets the number of tasks not done yet.
+     *
+     * @return the number of tasks not done yet
+     */
+    public int getUndoneCount() {
+        return getTotalCount() - doneCount;
+    }
+
+    /**
+     * Gets the number of undone deadlines due before today.
+     *
+     * @return the number of undone deadlines due before today
+     */
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    /**
+     * Gets the number of undone deadlines due in the seven days starting today.
+     *
+     * @return the number of undone deadlines due in the seven days starting today
+     */
+    public int getDueThisWeekCount() {
+        return dueThisWeekCount;
+    }
+
+    /**
+     * Gets the estimated heap saved by sharing identical descriptions.
+     *
+     * @return the estimated number of bytes saved
+     */
+    public long getSharedDescriptionBytes() {
+        return sharedDescriptionBytes;
+    }
+
+    /**
+     * Returns the statistics as display lines.
+     *
+     * @return the lines describing the statistics
+     */
+    public String[] toLines() {
+        return new String[] {
+            "Total: " + getTotalCount() + " task(s)",
+            "  Todos: " + todoCount + ", Deadlines: " + deadlineCount + ", Events: " + eventCount,
+            "  Done: " + doneCount + ", Not done: " + getUndoneCount(),
+            "  Overdue deadlines: " + overdueCount,
+            "  Deadlines due this week: " + dueThisWeekCount,
+            "  Memory saved by sharing repeated descriptions: ~" + (sharedDescriptionBytes + 1023) / 1024 + " KB"
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package bob.tasklist;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import bob.task.Task;
+
+/**
+ * An index from the words in task descriptions to the tasks that contain them, with how often
+ * each task uses the word. Together with each description's length in words, this gives the term
+ * statistics needed to rank matches by BM25 relevance without re-reading descriptions.
+ * The distinct words are also kept in a BK-tree so that misspelled words can be matched
+ * by edit distance without scanning every description.
+ */
+class TermIndex implements TaskIndex {
+    /** How quickly repeated words stop adding to a score. */
+    private static final double K1 = 1.2;
+    /** How much longer descriptions are penalised, from 0 (not at all) to 1 (fully). */
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Task, Integer>> postings = new HashMap<>();
+    private final Map<Task, Integer> lengths = new HashMap<>();
+    private long totalLength;
+    private BkTree terms = new BkTree();
+
+    @Override
+    public void add(Task task) {
+        List<String> words = tokenize(task.getDescription());
+        for (String term : words) {
+            Map<Task, Integer> tasksWithTerm = postings.get(term);
+            if (tasksWithTerm == null) {
+                tasksWithTerm = new HashMap<>();
+                postings.put(term, tasksWithTerm);
+                terms.add(term);
+            }
+            tasksWithTerm.merge(task, 1, Integer::sum);
+        }
+        lengths.put(task, words.size());
+        totalLength += words.size();
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (String term : tokenize(task.getDescription())) {
+            Map<Task, Integer> tasksWithTerm = postings.get(term);
+            if (tasksWithTerm != null && tasksWithTerm.remove(task) != null && tasksWithTerm.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        Integer length = lengths.remove(task);
+        if (length != null) {
+            totalLength -= length;
+        }
+        // BK-trees cannot delete words, so rebuild once most of the words are gone
+        if (terms.getSize() > 2 * postings.size() + 64) {
+            terms = new BkTree();
+            postings.keySet().forEach(terms::add);
+        }
+    }
+
+    /**
+     * Writes the index so it can be restored without tokenizing descriptions or rebuilding the BK-tree.
+     * Tasks are written as their positions in the list. Words left in the BK-tree after their last
+     * task was removed are written with no postings, so the tree is written as it is without changing it.
+     *
+     * @param out the output to write to
+     * @param tasks the indexed tasks, in list order
+     * @throws IOException if writing fails
+     */
+    void writeTo(DataOutput out, List<Task> tasks) throws IOException {
+        Map<Task, Integer> positions = new IdentityHashMap<>();
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            positions.put(task, positions.size());
+            out.writeInt(lengths.getOrDefault(task, 0));
+        }
+        Map<String, Integer> termNumbers = new HashMap<>();
+        List<String> removedTerms = new ArrayList<>();
+        if (terms.getSize() != postings.size()) {
+            for (String term : terms.getWords()) {
+                if (!postings.containsKey(term)) {
+                    removedTerms.add(term);
+                }
+            }
+        }
+        out.writeInt(postings.size() + removedTerms.size());
+        for (Map.Entry<String, Map<Task, Integer>> entry : postings.entrySet()) {
+            termNumbers.put(entry.getKey(), termNumbers.size());
+            byte[] termBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(termBytes.length);
+            out.write(termBytes);
+            out.writeInt(entry.getValue().size());
+            for (Map.Entry<Task, Integer> posting : entry.getValue().entrySet()) {
+                out.writeInt(positions.get(posting.getKey()));
+                out.writeInt(posting.getValue());
+            }
+        }
+        for (String term : removedTerms) {
+            termNumbers.put(term, termNumbers.size());
+            byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(termBytes.length);
+            out.write(termBytes);
+            out.writeInt(0);
+        }
+        terms.writeTo(out, termNumbers);
+    }
+
+    /**
+     * Restores the index from data written by writeTo, replacing what it held.
+     *
+     * @param in the buffer to read from
+     * @param tasks the tasks the data was written for, in list order
+     * @return true if the data matched the tasks and was restored, false if the index was left empty
+     */
+    boolean readFrom(ByteBuffer in, List<Task> tasks) {
+        postings.clear();
+        lengths.clear();
+        totalLength = 0;
+        terms = new BkTree();
+        try {
+            if (in.getInt() != tasks.size()) {
+                return false;
+            }
+            for (Task task : tasks) {
+                int length = in.getInt();
+                lengths.put(task, length);
+                totalLength += length;
+            }
+            String[] words = new String[readCount(in)];
+            for (int i = 0; i < words.length; i++) {
+                byte[] termBytes = new byte[readCount(in)];
+                in.get(termBytes);
+                words[i] = new String(termBytes, StandardCharsets.UTF_8);
+                int postingCount = readCount(in);
+                Map<Task, Integer> tasksWithTerm = new HashMap<>(postingCount * 2);
+                for (int j = 0; j < postingCount; j++) {
+                    Task task = tasks.get(in.getInt());
+                    tasksWithTerm.put(task, in.getInt());
+                }
+                if (postingCount > 0) {
+                    postings.put(words[i], tasksWithTerm);
+                }
+            }
+            terms = BkTree.readFrom(in, words);
+            return true;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            postings.clear();
+            lengths.clear();
+            totalLength = 0;
+            terms = new BkTree();
+            return false;
+        }
+    }
+
+    /**
+     * Reads a count, checking it could fit in what is left of the buffer before anything is allocated for it.
+     *
+     * @param in the buffer to read from
+     * @return the count
+     * @throws BufferUnderflowException if the count is negative or larger than the rest of the buffer
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    /**
+     * Scores how relevant a task is to the given words with BM25.
+     * Rare words count for more than common ones, repeated words count with diminishing returns,
+     * and matches in short descriptions count for more than in long ones.
+     *
+     * @param task the indexed task
+     * @param queryTerms the lowercase query words
+     * @return the relevance score, 0 if the task contains none of the words
+     */
+    double score(Task task, List<String> queryTerms) {
+        int taskCount = lengths.size();
+        if (taskCount == 0) {
+            return 0;
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / taskCount);
+        double lengthNorm = K1 * (1 - B + B * lengths.getOrDefault(task, 0) / averageLength);
+        double score = 0;
+        for (String term : queryTerms) {
+            Map<Task, Integer> tasksWithTerm = postings.get(term);
+            Integer frequency = tasksWithTerm == null ? null : tasksWithTerm.get(task);
+            if (frequency == null) {
+                continue;
+            }
+            int documentFrequency = tasksWithTerm.size();
+            double idf = Math.log(1 + (taskCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            score += idf * frequency * (K1 + 1) / (frequency + lengthNorm);
+        }
+        return score;
+    }
+
+    /**
+     * Finds the tasks containing a word close to the given word.
+     * Words of up to four letters may differ by one edit, longer words by two.
+     *
+     * @param word the possibly misspelled word
+     * @return the tasks containing a similar word
+     */
+    Set<Task> findSimilar(String word) {
+        String lowerWord = word.toLowerCase();
+        int maxDistance = lowerWord.length() <= 4 ? 1 : 2;
+        Set<Task> matches = new HashSet<>();
+        for (String term : terms.search(lowerWord, maxDistance)) {
+            Map<Task, Integer> tasksWithTerm = postings.get(term);
+            if (tasksWithTerm != null) {
+                matches.addAll(tasksWithTerm.keySet());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Splits text into lowercase words made of letters and digits.
+     *
+     * @param text the text to split
+     * @return the words, in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,185 @@
+package bob.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import bob.task.Deadline;
+import bob.task.Event;
+import bob.task.Task;
+
+/**
+ * An index of deadlines and events that are not done yet, ordered by date.
+ * Deadlines are keyed by their due date and events by their start date, so the next few
+ * can be read off in order without sorting the whole list.
+ * Recurring tasks are kept in a second tree keyed by an occurrence that is never later than their
+ * next one. A query first moves the tasks whose key it has passed to their next occurrence, so it
+ * only works out occurrences for those tasks rather than for every recurring task.
+ */
+class UpcomingIndex implements TaskIndex {
+    private final TreeMap<LocalDate, Set<Task>> tasksByDate = new TreeMap<>();
+    private final TreeMap<LocalDate, Set<Task>> recurringByOccurrence = new TreeMap<>();
+    private final Map<Task, LocalDate> occurrences = new HashMap<>();
+    private LocalDate keyedFrom;
+
+    @Override
+    public void add(Task task) {
+        LocalDate date = getKeyDate(task);
+        if (date == null || task.isDone()) {
+            return;
+        }
+        if (!task.isRecurring()) {
+            addTo(tasksByDate, date, task);
+        } else if (!occurrences.containsKey(task)) {
+            LocalDate occurrence = keyedFrom == null ? date
+                    : task.getRecurrence().getEarliestOnOrAfter(date, keyedFrom);
+            occurrences.put(task, occurrence);
+            addTo(recurringByOccurrence, occurrence, task);
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        LocalDate date = getKeyDate(task);
+        if (date == null) {
+            return;
+        }
+        if (!task.isRecurring()) {
+            removeFrom(tasksByDate, date, task);
+            return;
+        }
+        LocalDate occurrence = occurrences.remove(task);
+        if (occurrence != null) {
+            removeFrom(recurringByOccurrence, occurrence, task);
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        if (task.isDone()) {
+            remove(task);
+        } else {
+            add(task);
+        }
+    }
+
+    /**
+     * Gets the earliest undone deadlines and events dated on or after the given day.
+     * Recurring tasks are placed by their next occurrence, which is merged with the dated tasks in order.
+     *
+     * @param today the first date to include
+     * @param count the maximum number of tasks to return
+     * @return up to count tasks, earliest first
+     */
+    List<Task> getUpcoming(LocalDate today, int count) {
+        moveRecurringTo(today);
+        Iterator<Map.Entry<LocalDate, Set<Task>>> recurring = recurringByOccurrence.entrySet().iterator();
+        Map.Entry<LocalDate, Set<Task>> nextRecurring = recurring.hasNext() ? recurring.next() : null;
+
+        List<Task> upcoming = new ArrayList<>(Math.min(count, 64));
+        for (Map.Entry<LocalDate, Set<Task>> entry : tasksByDate.tailMap(today, true).entrySet()) {
+            while (nextRecurring != null && !nextRecurring.getKey().isAfter(entry.getKey())) {
+                addUpTo(upcoming, nextRecurring.getValue(), count);
+                nextRecurring = recurring.hasNext() ? recurring.next() : null;
+            }
+            addUpTo(upcoming, entry.getValue(), count);
+            if (upcoming.size() == count) {
+                return upcoming;
+            }
+        }
+        while (nextRecurring != null && upcoming.size() < count) {
+            addUpTo(upcoming, nextRecurring.getValue(), count);
+            nextRecurring = recurring.hasNext() ? recurring.next() : null;
+        }
+        return upcoming;
+    }
+
+    /**
+     * Keys every recurring task by its earliest occurrence on or after the given day.
+     * Only tasks keyed before the day are moved. Asking for an earlier day than before, which
+     * only happens when the clock goes back, moves every recurring task back to its first
+     * occurrence and forward again.
+     *
+     * @param today the day to key occurrences from
+     */
+    private void moveRecurringTo(LocalDate today) {
+        if (keyedFrom != null && today.isBefore(keyedFrom)) {
+            List<Task> all = new ArrayList<>(occurrences.keySet());
+            recurringByOccurrence.clear();
+            occurrences.clear();
+            keyedFrom = null;
+            all.forEach(this::add);
+        }
+        keyedFrom = today;
+        while (!recurringByOccurrence.isEmpty() && recurringByOccurrence.firstKey().isBefore(today)) {
+            for (Task task : recurringByOccurrence.pollFirstEntry().getValue()) {
+                LocalDate occurrence = task.getRecurrence().getEarliestOnOrAfter(getKeyDate(task), today);
+                occurrences.put(task, occurrence);
+                addTo(recurringByOccurrence, occurrence, task);
+            }
+        }
+    }
+
+    /**
+     * Adds a task under a date in a tree.
+     *
+     * @param tree the tree to add to
+     * @param date the date to key the task by
+     * @param task the task
+     */
+    private static void addTo(TreeMap<LocalDate, Set<Task>> tree, LocalDate date, Task task) {
+        tree.computeIfAbsent(date, d -> new LinkedHashSet<>()).add(task);
+    }
+
+    /**
+     * Removes a task from under a date in a tree, dropping the date once nothing is left under it.
+     *
+     * @param tree the tree to remove from
+     * @param date the date the task is keyed by
+     * @param task the task
+     */
+    private static void removeFrom(TreeMap<LocalDate, Set<Task>> tree, LocalDate date, Task task) {
+        Set<Task> tasksOnDate = tree.get(date);
+        if (tasksOnDate != null && tasksOnDate.remove(task) && tasksOnDate.isEmpty()) {
+            tree.remove(date);
+        }
+    }
+
+    /**
+     * Adds tasks to a list until it holds the given number of tasks.
+     *
+     * @param upcoming the list to add to
+     * @param tasks the tasks to add, in order
+     * @param count the maximum size of the list
+     */
+    private static void addUpTo(List<Task> upcoming, Collection<Task> tasks, int count) {
+        for (Task task : tasks) {
+            if (upcoming.size() == count) {
+                return;
+            }
+            upcoming.add(task);
+        }
+    }
+
+    /**
+     * Gets the date a task is indexed under.
+     *
+     * @param task the task
+     * @return the due date of a deadline, the start date of an event, or null for other tasks
+     */
+    private static LocalDate getKeyDate(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDate();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFromDate();
+        }
+        return null;
+    }
+}
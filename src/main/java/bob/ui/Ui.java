@@ -1,11 +1,11 @@
 package bob.ui;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Scanner;
-import java.util.stream.IntStream;
 
-import bob.task.Task;
+import bob.command.CommandResult;
 
 /**
  * User interface for the Bob application.
@@ -13,30 +13,34 @@ import bob.task.Task;
 public class Ui {
     private static final String DIVIDER = "____________________________________________________________";
     private Scanner scanner;
+    private PrintStream out;
 
     /**
-     * Constructs a new Ui instance.
+     * Constructs a new Ui instance reading from standard input and writing to standard output.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+        this(System.in, System.out);
     }
 
     /**
-     * Displays the welcome message.
+     * Constructs a Ui reading commands from the given input and writing to the given output,
+     * such as a script file and a buffered stream.
+     *
+     * @param in the stream to read commands from
+     * @param out the stream to write messages to
      */
-    public void showWelcome() {
-        showLine();
-        println(" Hello! I'm Bob, your personal task manager.");
-        println(" What would you like to do today?");
-        showLine();
+    public Ui(InputStream in, PrintStream out) {
+        this.scanner = new Scanner(in);
+        this.out = out;
     }
 
     /**
-     * Displays the exit message.
+     * Displays the welcome message.
      */
-    public void showExit() {
+    public void showWelcome() {
         showLine();
-        println(" Goodbye! Hope to see you again soon.");
+        println(" Hello! I'm Bob, your personal task manager.");
+        println(" What would you like to do today?");
         showLine();
     }
 
@@ -44,7 +48,7 @@ public class Ui {
      * Displays a dividing line.
      */
     public void showLine() {
-        System.out.println(DIVIDER);
+        out.println(DIVIDER);
     }
 
     /**
@@ -52,7 +56,7 @@ public class Ui {
      * @param messages the messages to display
      */
     public void println(String... messages) {
-        Arrays.stream(messages).forEach(System.out::println);
+        Arrays.stream(messages).forEach(out::println);
     }
 
     /**
@@ -60,7 +64,22 @@ public class Ui {
      * @param messages the messages to display
      */
     public void print(String... messages) {
-        Arrays.stream(messages).forEach(System.out::print);
+        Arrays.stream(messages).forEach(out::print);
+    }
+
+    /**
+     * Writes out any messages held in the output buffer.
+     */
+    public void flush() {
+        out.flush();
+    }
+
+    /**
+     * Checks if there is another command to read.
+     * @return false once the input has ended
+     */
+    public boolean hasNextCommand() {
+        return scanner.hasNextLine();
     }
 
     /**
@@ -104,110 +123,12 @@ public class Ui {
     }
 
     /**
-     * Displays the task list.
-     * @param tasks the list of tasks
-     */
-    public void showTaskList(List<Task> tasks) {
-        showLine();
-        if (tasks.isEmpty()) {
-            println(" Your task list is empty! Time to add some tasks.");
-        } else {
-            println(" Here are your tasks:");
-            IntStream.range(0, tasks.size())
-                    .forEach(i -> println(" " + (i + 1) + "." + tasks.get(i)));
-        }
-        showLine();
-    }
-
-    /**
-     * Displays confirmation that a task has been added.
-     * @param task the task added
-     * @param totalTasks the total number of tasks
-     */
-    public void showTaskAdded(Task task, int totalTasks) {
-        showLine();
-        println(" Got it! Added this task:");
-        println("   " + task);
-        println(" You now have " + totalTasks + " task(s) in your list.");
-        showLine();
-    }
-
-    /**
-     * Displays confirmation that a task is marked as done.
-     * @param task the task marked
-     */
-    public void showTaskMarked(Task task) {
-        showLine();
-        println(" Nice! Marked this task as done:");
-        println("   " + task);
-        showLine();
-    }
-
-    /**
-     * Displays confirmation that a task is marked as not done.
-     * @param task the task unmarked
-     */
-    public void showTaskUnmarked(Task task) {
-        showLine();
-        println(" Okay, marked this as not done:");
-        println("   " + task);
-        showLine();
-    }
-
-    /**
-     * Displays confirmation that a task has been deleted.
-     * @param task the task deleted
-     * @param remainingTasks the number of tasks remaining
-     */
-    public void showTaskDeleted(Task task, int remainingTasks) {
-        showLine();
-        println(" Noted. Removed this task:");
-        println("   " + task);
-        println(" Now you have " + remainingTasks + " task(s) in the list.");
-        showLine();
-    }
-
-    /**
-     * Displays tasks on a specific date.
-     * @param matchingTasks the tasks found
-     * @param dateStr the date
-     */
-    public void showTasksOnDate(List<Task> matchingTasks, String dateStr) {
-        showLine();
-        if (matchingTasks.isEmpty()) {
-            println(" No tasks found for " + dateStr + ".");
-        } else {
-            println(" Tasks on " + dateStr + ":");
-            for (int i = 0; i < matchingTasks.size(); i++) {
-                println(" " + (i + 1) + "." + matchingTasks.get(i));
-            }
-        }
-        showLine();
-    }
-
-    /**
-     * Displays tasks matching a keyword.
-     * @param matchingTasks the matching tasks
-     * @param keyword the keyword
-     */
-    public void showTasksFound(List<Task> matchingTasks, String keyword) {
-        showLine();
-        if (matchingTasks.isEmpty()) {
-            println(" No tasks found with \"" + keyword + "\".");
-        } else {
-            println(" Here are the matching tasks:");
-            IntStream.range(0, matchingTasks.size())
-                    .forEach(i -> println(" " + (i + 1) + "." + matchingTasks.get(i)));
-        }
-        showLine();
-    }
-
-    /**
-     * Displays message that tasks have been sorted.
+     * Displays the message of a command's result.
+     * @param result the result of the command
      */
-    public void showSortedMessage() {
+    public void showResult(CommandResult result) {
         showLine();
-        println(" Done! Your tasks are now sorted alphabetically.");
+        result.getLines().forEach(line -> println(" " + line));
         showLine();
     }
 }
@@ -0,0 +1,250 @@
+package bob;
+
+import bob.storage.Storage;
+import bob.task.Task;
+import bob.ui.Ui;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bob Tests")
+class BobTest {
+
+    private Path dataFile;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        dataFile = tempDir.resolve("bob.txt");
+        output = new ByteArrayOutputStream();
+    }
+
+    private Bob createBob(String input) {
+        Ui ui = new Ui(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+        return new Bob(dataFile.toString(), ui);
+    }
+
+    private List<Task> loadSaved() throws IOException {
+        return new Storage(dataFile.toString()).load();
+    }
+
+    @Test
+    @DisplayName("Script: changes made before a transaction left open should still be saved")
+    void testScriptSavesChangesBeforeOpenTransaction() throws IOException {
+        createBob("todo alpha\nbegin\ntodo beta\n").runScript(0, false);
+
+        List<Task> saved = loadSaved();
+        assertEquals(1, saved.size());
+        assertEquals("alpha", saved.get(0).getDescription());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("never committed"));
+    }
+
+    @Test
+    @DisplayName("Bob: a batch ending in begin should save the commands before it")
+    void testBatchSavesChangesBeforeBegin() throws IOException {
+        Bob bob = createBob("");
+        bob.getResponse("todo a; begin");
+        bob.getResponse("todo b");
+
+        List<Task> saved = loadSaved();
+        assertEquals(1, saved.size());
+        assertEquals("a", saved.get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("CLI: the end of the input should stop the loop and warn about an open transaction")
+    void testRunWarnsAboutOpenTransactionAtEndOfInput() throws IOException {
+        createBob("todo alpha\nbegin\n").run();
+
+        assertEquals(1, loadSaved().size());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("never committed"));
+    }
+
+    @Test
+    @DisplayName("Script: an unexpected failure should still save the lists and flush the output")
+    void testScriptSavesAndFlushesOnUnexpectedFailure() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream("todo alpha\nboom\n".getBytes(StandardCharsets.UTF_8));
+        PrintStream out = new PrintStream(new BufferedOutputStream(output, 64 * 1024), false, StandardCharsets.UTF_8);
+        Ui ui = new Ui(in, out) {
+            @Override
+            public String readCommand() {
+                String command = super.readCommand();
+                if (command.equals("boom")) {
+                    throw new IllegalStateException("boom");
+                }
+                return command;
+            }
+        };
+        Bob bob = new Bob(dataFile.toString(), ui);
+
+        assertThrows(IllegalStateException.class, () -> bob.runScript(0, false));
+        assertEquals(1, loadSaved().size());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("alpha"));
+    }
+
+    @Test
+    @DisplayName("Bob: find should rank matches when /top comes after the query")
+    void testFindWithTrailingTop() {
+        Bob bob = createBob("");
+        bob.getResponse("todo meeting notes; todo team meeting; todo lunch");
+
+        String response = bob.getResponse("find meeting /top 1");
+        assertTrue(response.startsWith("Here are the matching tasks:"), response);
+        assertEquals(2, response.split("\n").length);
+        assertTrue(bob.getResponse("find /top").contains("(e.g., find /top 2)"));
+    }
+
+    @Test
+    @DisplayName("Bob: only commands that change the list should save it")
+    void testSavesOnlyChangedResults() throws IOException {
+        Bob bob = createBob("");
+        bob.getResponse("list");
+        assertFalse(dataFile.toFile().exists());
+
+        String response = bob.getResponse("todo read book");
+        assertTrue(response.contains("Now you have 1 task(s) in the list."), response);
+        assertEquals(1, loadSaved().size());
+    }
+
+    @Test
+    @DisplayName("Bob: a failed save should be shown with the command's result")
+    void testFailedSaveAddedToResult(@TempDir Path tempDir) throws IOException {
+        Path blocker = tempDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+        dataFile = blocker.resolve("bob.txt");
+
+        String response = createBob("").getResponse("todo read book");
+        assertTrue(response.startsWith("Got it! Added this task:"), response);
+        assertTrue(response.contains("Could not save your tasks: "), response);
+    }
+
+    @Test
+    @DisplayName("Script: a quiet run should show errors but no results")
+    void testQuietScriptShowsOnlyErrors() throws IOException {
+        createBob("todo alpha\nlist\nmark 5\n").runScript(0, true);
+
+        String shown = output.toString(StandardCharsets.UTF_8);
+        assertFalse(shown.contains("alpha"), shown);
+        assertTrue(shown.contains("Error: "), shown);
+        assertEquals(1, loadSaved().size());
+    }
+
+    @Test
+    @DisplayName("Bob: metrics should time argument parsing and the saves of a batch")
+    void testMetricsTimeParsingAndBatchSaves() {
+        Bob bob = createBob("");
+        bob.getResponse("todo a; todo b");
+        bob.getResponse("mark x");
+
+        String report = bob.getResponse("metrics");
+        assertTrue(report.matches("(?s).*\\nBatch +save +1 .*"), report);
+        assertTrue(report.matches("(?s).*\\nMark +parse +1 .*"), report);
+        assertFalse(report.matches("(?s).*\\nMark +execute .*"), report);
+    }
+
+
+    @Test
+    @DisplayName("Bob: a failing command should undo the earlier commands on its line")
+    void testFailingCommandUndoesLine() throws IOException {
+        Bob bob = createBob("");
+        bob.getResponse("todo a");
+
+        String response = bob.getResponse("todo b; mark 1; mark 99");
+        assertTrue(response.contains("Undid the earlier command(s) on that line."), response);
+        List<Task> saved = loadSaved();
+        assertEquals(1, saved.size());
+        assertFalse(saved.get(0).isDone());
+        assertTrue(bob.getResponse("undo").contains("add 1 task(s)"), "the line should leave no undo history");
+    }
+
+    @Test
+    @DisplayName("Bob: a failing line should undo changes in every list it touched and switch back")
+    void testFailingLineUndoesOtherLists() throws IOException {
+        Bob bob = createBob("");
+        String response = bob.getResponse("todo a; switch work; todo b; mark 99");
+        assertTrue(response.contains("Undid the earlier command(s) on that line."), response);
+
+        assertTrue(bob.getResponse("todo c").contains("Now you have 1 task(s) in the list."));
+        assertEquals(1, loadSaved().size());
+        assertTrue(bob.getResponse("switch work").contains("with 0 task(s)"));
+    }
+
+    @Test
+    @DisplayName("Script: a failing command should undo the earlier commands on its line")
+    void testScriptFailingLineUndone() throws IOException {
+        createBob("todo a\ntodo b; mark 99\n").runScript(0, true);
+
+        List<Task> saved = loadSaved();
+        assertEquals(1, saved.size());
+        assertEquals("a", saved.get(0).getDescription());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Undid the earlier"));
+    }
+
+
+    @Test
+    @DisplayName("Bob: sorting a sorted list or marking a done task should not save or add an undo step")
+    void testNoOpCommandsDoNotSave() throws IOException {
+        Bob bob = createBob("");
+        bob.getResponse("todo apple; todo banana; mark 1");
+        FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(dataFile, written);
+
+        bob.getResponse("sort");
+        bob.getResponse("mark 1");
+        bob.getResponse("unmark 2");
+        bob.getResponse("begin; commit");
+        assertEquals(written, Files.getLastModifiedTime(dataFile));
+        assertTrue(bob.getResponse("undo").contains("mark"), "undo should reach the first mark");
+    }
+
+
+    @Test
+    @DisplayName("Bob: metrics file and interval problems should be shown through the Ui")
+    void testMetricsWarningsShownThroughUi(@TempDir Path tempDir) throws IOException {
+        Path blocker = tempDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+        System.setProperty("bob.metricsFile", blocker.resolve("metrics.txt").toString());
+        System.setProperty("bob.metricsDumpEvery", "0");
+        try {
+            Bob bob = createBob("");
+            assertTrue(output.toString(StandardCharsets.UTF_8).contains("bob.metricsDumpEvery must be a positive"));
+            for (int i = 0; i < 99; i++) {
+                bob.getResponse("list");
+            }
+            String response = bob.getResponse("list");
+            assertTrue(response.contains("Could not write the metrics file: "), response);
+        } finally {
+            System.clearProperty("bob.metricsFile");
+            System.clearProperty("bob.metricsDumpEvery");
+        }
+    }
+
+
+    @Test
+    @DisplayName("Script: a quiet run should not show how many tasks were loaded")
+    void testQuietScriptHidesLoadingBanner() throws IOException {
+        Files.writeString(dataFile, "T | 0 | alpha\n");
+        Ui ui = new Ui(new ByteArrayInputStream("list\n".getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+        new Bob(dataFile.toString(), ui, true).runScript(0, true);
+
+        assertEquals("", output.toString(StandardCharsets.UTF_8));
+        createBob("");
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Loaded 1 task(s)"));
+    }
+}
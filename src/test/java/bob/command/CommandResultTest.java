@@ -0,0 +1,33 @@
+package bob.command;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommandResult Tests")
+class CommandResultTest {
+
+    private int supplierCalls;
+
+    private CommandResult createCountingResult() {
+        return new CommandResult(true, () -> {
+            supplierCalls++;
+            return List.of("done");
+        });
+    }
+
+    @Test
+    @DisplayName("CommandResult: should not build its lines until they are asked for")
+    void testLinesBuiltLazily() {
+        CommandResult result = createCountingResult().withLine("saved");
+
+        assertTrue(result.hasChangedTasks());
+        assertEquals(0, supplierCalls);
+        assertEquals(List.of("done", "saved"), result.getLines());
+        assertEquals("done\nsaved", result.toText());
+        assertEquals(1, supplierCalls);
+    }
+}
@@ -0,0 +1,31 @@
+package bob.metrics;
+
+import bob.metrics.CommandMetrics.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommandMetrics Tests")
+class CommandMetricsTest {
+
+    @Test
+    @DisplayName("CommandMetrics: columns should line up with command names longer than the header")
+    void testColumnsAlignWithLongNames() {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.record("Mark", Phase.PARSE, System.nanoTime(), -1);
+        metrics.record("AddDeadline", Phase.EXECUTE, System.nanoTime(), -1);
+        metrics.record("Transaction", Phase.SAVE, System.nanoTime(), -1);
+
+        List<String> lines = metrics.toLines();
+        assertEquals(4, lines.size());
+        int phaseColumn = lines.get(0).indexOf("phase");
+        for (String line : lines) {
+            assertEquals(lines.get(0).length(), line.length(), line);
+            assertTrue(line.charAt(phaseColumn) != ' ', line);
+            assertEquals(' ', line.charAt(phaseColumn - 1), line);
+        }
+    }
+}
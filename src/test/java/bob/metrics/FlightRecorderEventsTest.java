@@ -0,0 +1,23 @@
+package bob.metrics;
+
+import bob.metrics.CommandMetrics.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FlightRecorderEvents Tests")
+class FlightRecorderEventsTest {
+
+    @Test
+    @DisplayName("FlightRecorderEvents: events should be off by default and never created")
+    void testDisabledByDefault() {
+        assertFalse(FlightRecorderEvents.IS_ENABLED);
+        assertNull(CommandEvent.start(Phase.PARSE));
+        assertNull(StorageLoadEvent.start());
+        assertNull(StorageSaveEvent.start());
+
+        CommandEvent.finish(null, "Mark");
+        StorageSaveEvent.finish(null, "bob.txt", 1, 10);
+    }
+}
@@ -0,0 +1,96 @@
+package bob.metrics;
+
+import bob.Bob;
+import bob.storage.Storage;
+import bob.ui.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flight Recorder Recording Tests")
+class FlightRecorderRecordingTest {
+
+    @Test
+    @DisplayName("Flight Recorder: running a command should commit command and save events with their fields")
+    void testCommandAndSaveEventsCommitted(@TempDir Path tempDir) throws Exception {
+        assertTrue(FlightRecorderEvents.IS_ENABLED, "Run with -Dbob.jfr=true, as the jfrTest task does");
+        Path dataFile = tempDir.resolve("bob.txt");
+        Map<String, RecordedEvent> commandPhases = new ConcurrentHashMap<>();
+        CountDownLatch commandsSeen = new CountDownLatch(2);
+        CountDownLatch saveSeen = new CountDownLatch(1);
+        RecordedEvent[] save = new RecordedEvent[1];
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("bob.Command").withThreshold(Duration.ZERO);
+            stream.enable("bob.StorageSave").withThreshold(Duration.ZERO);
+            stream.onEvent("bob.Command", event -> {
+                if ("AddTodo".equals(event.getString("command"))
+                        && commandPhases.putIfAbsent(event.getString("phase"), event) == null) {
+                    commandsSeen.countDown();
+                }
+            });
+            stream.onEvent("bob.StorageSave", event -> {
+                if (dataFile.toString().equals(event.getString("path")) && saveSeen.getCount() > 0) {
+                    save[0] = event;
+                    saveSeen.countDown();
+                }
+            });
+            stream.startAsync();
+
+            Ui ui = new Ui(new ByteArrayInputStream(new byte[0]),
+                    new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+            new Bob(dataFile.toString(), ui).getResponse("todo read book");
+
+            assertTrue(commandsSeen.await(30, TimeUnit.SECONDS), "Command events seen: " + commandPhases.keySet());
+            assertTrue(saveSeen.await(30, TimeUnit.SECONDS), "No save event was seen");
+        }
+
+        assertTrue(commandPhases.containsKey("parse"));
+        assertTrue(commandPhases.containsKey("execute"));
+        assertEquals(1, save[0].getInt("tasksWritten"));
+        assertEquals(Files.size(dataFile), save[0].getLong("bytesWritten"));
+    }
+
+
+    @Test
+    @DisplayName("Flight Recorder: a load that fails to read should still commit its event")
+    void testFailedLoadEventCommitted(@TempDir Path tempDir) throws Exception {
+        Path unreadable = Files.createDirectory(tempDir.resolve("bob.txt"));
+        CountDownLatch loadSeen = new CountDownLatch(1);
+        RecordedEvent[] load = new RecordedEvent[1];
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("bob.StorageLoad").withThreshold(Duration.ZERO);
+            stream.onEvent("bob.StorageLoad", event -> {
+                if (unreadable.toString().equals(event.getString("path")) && loadSeen.getCount() > 0) {
+                    load[0] = event;
+                    loadSeen.countDown();
+                }
+            });
+            stream.startAsync();
+
+            assertTrue(new Storage(unreadable.toString()).load().isEmpty());
+            assertTrue(loadSeen.await(30, TimeUnit.SECONDS), "No load event was seen");
+        }
+
+        assertEquals(0, load[0].getLong("bytesRead"));
+        assertEquals(0, load[0].getInt("linesParsed"));
+    }
+}
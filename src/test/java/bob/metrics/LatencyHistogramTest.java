@@ -0,0 +1,39 @@
+package bob.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("LatencyHistogram: buckets should cover every value in order")
+    void testBucketBounds() {
+        for (long value = 0; value < 5000; value++) {
+            int bucket = LatencyHistogram.getBucket(value);
+            assertTrue(value <= LatencyHistogram.getUpperBound(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.getUpperBound(bucket - 1));
+        }
+        assertTrue(LatencyHistogram.getBucket(Long.MAX_VALUE) < 64 * 8);
+    }
+
+    @Test
+    @DisplayName("LatencyHistogram: percentiles should be within one bucket of the true value")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+
+        long median = histogram.getPercentileNanos(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125);
+        long p99 = histogram.getPercentileNanos(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+        assertEquals(1_000_000, histogram.getPercentileNanos(1));
+    }
+}
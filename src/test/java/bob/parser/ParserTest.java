@@ -330,4 +330,179 @@ class ParserTest {
         int index = Parser.parseTaskIndex("mark 9999");
         assertEquals(9998, index);
     }
+
+    @Test
+    @DisplayName("parsePositiveOption: should read value after flag or use default")
+    void testParsePositiveOption() throws BobException {
+        assertEquals(3, Parser.parsePositiveOption("list /page 3 /size 20", "list", "/page", 1));
+        assertEquals(20, Parser.parsePositiveOption("list /page 3 /size 20", "list", "/size", 50));
+        assertEquals(1, Parser.parsePositiveOption("list", "list", "/page", 1));
+    }
+
+    @Test
+    @DisplayName("parsePositiveOption: should reject missing or invalid values")
+    void testParsePositiveOptionInvalid() {
+        assertThrows(BobException.class, () -> Parser.parsePositiveOption("list /page", "list", "/page", 1));
+        assertThrows(BobException.class, () -> Parser.parsePositiveOption("list /page 0", "list", "/page", 1));
+        assertThrows(BobException.class, () -> Parser.parsePositiveOption("list /page two", "list", "/page", 1));
+    }
+
+    @Test
+    @DisplayName("parseTaskIndices: should parse ranges, lists and all")
+    void testParseTaskIndices() throws BobException {
+        assertArrayEquals(new int[] {4}, Parser.parseTaskIndices("mark 5", 10));
+        assertArrayEquals(new int[] {0, 1, 2}, Parser.parseTaskIndices("mark 1-3", 10));
+        assertArrayEquals(new int[] {2, 6, 8}, Parser.parseTaskIndices("delete 9,3,7", 10));
+        assertArrayEquals(new int[] {0, 1, 2, 5}, Parser.parseTaskIndices("delete 1-3,6,2", 10));
+        assertArrayEquals(new int[] {0, 1, 2}, Parser.parseTaskIndices("unmark all", 3));
+    }
+
+    @Test
+    @DisplayName("parseTaskIndices: should reject invalid specs")
+    void testParseTaskIndicesInvalid() {
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark", 10));
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark 5-2", 10));
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark 1-11", 10));
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark 0", 10));
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark 1,,2", 10));
+    }
+
+    @Test
+    @DisplayName("parseQuery: should reject empty queries and bad filter values")
+    void testParseQueryInvalid() {
+        assertThrows(BobException.class, () -> Parser.parseQuery("   "));
+        assertThrows(BobException.class, () -> Parser.parseQuery("type:chore"));
+        assertThrows(BobException.class, () -> Parser.parseQuery("done:maybe"));
+        assertThrows(BobException.class, () -> Parser.parseQuery("before:tomorrow"));
+        assertThrows(BobException.class, () -> Parser.parseQuery("\"unclosed phrase"));
+    }
+
+    @Test
+    @DisplayName("parseCommand: should parse upcoming command with optional count")
+    void testParseCommandUpcoming() throws BobException {
+        assertInstanceOf(UpcomingCommand.class, Parser.parseCommand("upcoming"));
+        assertEquals(3, Parser.parseCount("upcoming 3", 5));
+        assertEquals(5, Parser.parseCount("upcoming", 5));
+        assertThrows(BobException.class, () -> Parser.parseCount("upcoming soon", 5));
+    }
+
+    @Test
+    @DisplayName("parseTaskIds: should parse #IDs")
+    void testParseTaskIds() throws BobException {
+        assertTrue(Parser.isIdSelection("mark #12"));
+        assertFalse(Parser.isIdSelection("mark 12"));
+        assertArrayEquals(new int[] {3, 7}, Parser.parseTaskIds("delete #7, #3"));
+        assertThrows(BobException.class, () -> Parser.parseTaskIds("delete #7,3"));
+        assertThrows(BobException.class, () -> Parser.parseTaskIds("delete #x"));
+    }
+
+    @Test
+    @DisplayName("parseAddDeadline and parseAddEvent: should accept an /every part")
+    void testParseRecurring() throws BobException {
+        Task deadline = Parser.parseAddDeadline("deadline timesheet /by 2026-01-02 /every weekly");
+        assertEquals(Recurrence.WEEKLY, deadline.getRecurrence());
+        assertEquals("timesheet", deadline.getDescription());
+        Task event = Parser.parseAddEvent("event review /from 2026-01-15 /to 2026-01-16 /every Monthly");
+        assertEquals(Recurrence.MONTHLY, event.getRecurrence());
+        assertNull(Parser.parseAddDeadline("deadline report /by 2026-01-02").getRecurrence());
+        assertThrows(BobException.class, () -> Parser.parseAddDeadline("deadline x /by 2026-01-02 /every year"));
+    }
+
+    @Test
+    @DisplayName("parseWorkspaceName: should accept simple list names only")
+    void testParseWorkspaceName() throws BobException {
+        assertEquals("project-x", Parser.parseWorkspaceName("switch project-x"));
+        assertInstanceOf(SwitchCommand.class, Parser.parseCommand("switch work"));
+        assertThrows(BobException.class, () -> Parser.parseWorkspaceName("switch"));
+        assertThrows(BobException.class, () -> Parser.parseWorkspaceName("switch a b"));
+        assertThrows(BobException.class, () -> Parser.parseWorkspaceName("switch ../secrets"));
+    }
+
+    @Test
+    @DisplayName("parseQuery: should reject a tag filter without a tag")
+    void testParseQueryEmptyTag() {
+        assertThrows(BobException.class, () -> Parser.parseQuery("tag:"));
+        assertThrows(BobException.class, () -> Parser.parseQuery("tag:#,"));
+    }
+
+    @Test
+    @DisplayName("parseCommand: should match command words ignoring case")
+    void testParseCommandIgnoresCase() throws BobException {
+        assertInstanceOf(ListCommand.class, Parser.parseCommand("LiSt"));
+        assertInstanceOf(UnknownCommand.class, Parser.parseCommand("lists"));
+        assertInstanceOf(UnknownCommand.class, Parser.parseCommand("unknown"));
+    }
+
+    @Test
+    @DisplayName("parseAddEvent: should accept flags in any order with extra spaces")
+    void testParseAddEventFlagOrder() throws BobException {
+        Event event = Parser.parseAddEvent("event  trip  /to 2024-03-12 /every weekly /from 2024-03-10 ");
+        assertEquals("trip", event.getDescription());
+        assertEquals(LocalDate.of(2024, 3, 10), event.getFromDate());
+        assertEquals(LocalDate.of(2024, 3, 12), event.getToDate());
+        assertEquals(Recurrence.WEEKLY, event.getRecurrence());
+    }
+
+    @Test
+    @DisplayName("parseAddDeadline: should keep slashes that are not flags in the description")
+    void testParseAddDeadlineSlashInDescription() throws BobException {
+        Deadline deadline = (Deadline) Parser.parseAddDeadline("deadline read a/b /bytes /by 2024-03-15");
+        assertEquals("read a/b /bytes", deadline.getDescription());
+        assertThrows(BobException.class, () -> Parser.parseAddDeadline("deadline report /by"));
+        assertThrows(BobException.class, () -> Parser.parseAddDeadline("deadline /by 2024-03-15"));
+    }
+
+    @Test
+    @DisplayName("parseTaskIndices: should read numbers and ranges with spaces around them")
+    void testParseTaskIndicesSpacing() throws BobException {
+        assertArrayEquals(new int[] {0, 2, 3}, Parser.parseTaskIndices("mark 1 , 3 - 4", 5));
+        assertThrows(BobException.class, () -> Parser.parseTaskIndices("mark 1,,2", 5));
+        assertThrows(BobException.class, () -> Parser.parseTaskIds("mark #1,2"));
+    }
+
+    @Test
+    @DisplayName("parseCommand: should accept aliases and unique prefixes")
+    void testParseCommandAliasesAndPrefixes() throws BobException {
+        assertInstanceOf(AddDeadlineCommand.class, Parser.parseCommand("dl submit /by 2024-03-15"));
+        assertInstanceOf(AddDeadlineCommand.class, Parser.parseCommand("DEAD submit /by 2024-03-15"));
+        assertInstanceOf(DeleteCommand.class, Parser.parseCommand("rm 2"));
+        assertInstanceOf(UpcomingCommand.class, Parser.parseCommand("upc"));
+        assertInstanceOf(ExitCommand.class, Parser.parseCommand("quit"));
+        assertInstanceOf(UnknownCommand.class, Parser.parseCommand("de 2"));
+        assertInstanceOf(UnknownCommand.class, Parser.parseCommand("todos"));
+        assertInstanceOf(UnknownCommand.class, Parser.parseCommand("t\u00f6do x"));
+    }
+
+    @Test
+    @DisplayName("parseAddTodo: should read the description after an alias")
+    void testParseAddTodoAlias() throws BobException {
+        assertEquals("buy milk", Parser.parseAddTodo("td buy milk").getDescription());
+        assertEquals("meeting", Parser.parseArgumentsWithoutOption("fin  meeting ", "/top"));
+    }
+
+    @Test
+    @DisplayName("splitCommands: should split on ';' outside quotes and drop empty commands")
+    void testSplitCommands() {
+        assertEquals(java.util.List.of("todo a", "todo b", "mark 1"), Parser.splitCommands("todo a; todo b;;mark 1 ;"));
+        assertEquals(java.util.List.of("find \"a;b\"", "list"), Parser.splitCommands("find \"a;b\"; list"));
+        assertTrue(Parser.splitCommands(" ; ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("parseArgumentsWithoutOption: should leave out the option wherever it appears")
+    void testParseArgumentsWithoutOption() {
+        assertEquals("meeting notes", Parser.parseArgumentsWithoutOption("find /top 5 meeting notes", "/top"));
+        assertEquals("meeting", Parser.parseArgumentsWithoutOption("find meeting /top 1", "/top"));
+        assertEquals("meeting notes", Parser.parseArgumentsWithoutOption("find meeting /top 2  notes", "/top"));
+        assertEquals("meeting notes", Parser.parseArgumentsWithoutOption("find meeting notes", "/top"));
+        assertEquals("", Parser.parseArgumentsWithoutOption("find /top 3", "/top"));
+    }
+
+    @Test
+    @DisplayName("parsePositiveOption: the usage hint should name the command given")
+    void testParsePositiveOptionHint() {
+        BobException e = assertThrows(BobException.class,
+                () -> Parser.parsePositiveOption("find /top", "find", "/top", 0));
+        assertTrue(e.getMessage().contains("(e.g., find /top 2)"));
+    }
 }
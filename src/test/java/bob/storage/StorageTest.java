@@ -1,19 +1,26 @@
 package bob.storage;
 
 import bob.exception.BobException;
+import bob.parser.Parser;
 import bob.task.Task;
 import bob.task.Todo;
+import bob.tasklist.TaskList;
 import bob.task.Deadline;
 import bob.task.Event;
+import bob.task.Recurrence;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -420,4 +427,179 @@ class StorageTest {
         // Either behavior is acceptable for edge case
         assertTrue(loaded.size() <= 1);
     }
+
+    @Test
+    @DisplayName("Storage: should save and restore stable task IDs")
+    void testSaveAndLoadIds() throws IOException {
+        List<Task> tasksToSave = new ArrayList<>();
+        Todo todo = new Todo("read book");
+        todo.setId(12);
+        tasksToSave.add(todo);
+        tasksToSave.add(new Deadline("return book", "2024-03-15"));
+
+        storage.save(tasksToSave);
+        List<String> lines = Files.readAllLines(tempFile);
+        assertEquals("#12 | T | 0 | read book", lines.get(0));
+        assertTrue(lines.get(1).startsWith("D | 0 |"));
+
+        List<Task> loaded = storage.load();
+        assertEquals(2, loaded.size());
+        assertEquals(12, loaded.get(0).getId());
+        assertEquals("read book", loaded.get(0).getDescription());
+        assertEquals(0, loaded.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Storage: should save and restore recurring tasks")
+    void testSaveAndLoadRecurring() throws IOException {
+        List<Task> tasksToSave = new ArrayList<>();
+        tasksToSave.add(new Deadline("timesheet", LocalDate.of(2026, 1, 2), Recurrence.WEEKLY));
+        tasksToSave.add(new Event("review", LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 15),
+                Recurrence.MONTHLY));
+        storage.save(tasksToSave);
+
+        List<Task> loaded = storage.load();
+        assertEquals(2, loaded.size());
+        assertEquals(Recurrence.WEEKLY, loaded.get(0).getRecurrence());
+        assertEquals(Recurrence.MONTHLY, loaded.get(1).getRecurrence());
+    }
+
+    @Test
+    @DisplayName("WorkspaceCache: should load each list once and keep it while it fits the budget")
+    void testWorkspaceSwitching() throws BobException {
+        TaskList mainTasks = new TaskList();
+        WorkspaceCache workspaces = new WorkspaceCache(tempFile.getParent(), "test_tasks", storage, mainTasks,
+                WorkspaceCache.ESTIMATED_BYTES_PER_TASK * 10);
+
+        workspaces.switchTo("work");
+        assertEquals("work", workspaces.getCurrentName());
+        assertTrue(workspaces.getCurrentTasks().isEmpty());
+        TaskList workTasks = workspaces.getCurrentTasks();
+
+        workspaces.switchTo("test_tasks");
+        assertSame(mainTasks, workspaces.getCurrentTasks());
+        workspaces.switchTo("work");
+        assertSame(workTasks, workspaces.getCurrentTasks());
+        assertThrows(BobException.class, () -> workspaces.switchTo("../escape"));
+    }
+
+    @Test
+    @DisplayName("WorkspaceCache: should save changed lists before dropping them over budget")
+    void testWorkspaceEviction() throws BobException, IOException {
+        WorkspaceCache workspaces = new WorkspaceCache(tempFile.getParent(), "test_tasks", storage, new TaskList(),
+                WorkspaceCache.ESTIMATED_BYTES_PER_TASK * 2);
+        workspaces.switchTo("work");
+        workspaces.getCurrentTasks().addTask(new Todo("a"), new Todo("b"));
+
+        workspaces.switchTo("home");
+        assertTrue(workspaces.isLoaded("work"));
+        workspaces.getCurrentTasks().addTask(new Todo("c"));
+
+        workspaces.switchTo("test_tasks");
+        assertFalse(workspaces.isLoaded("work"));
+        assertTrue(workspaces.isLoaded("home"));
+        assertEquals(2, new Storage(tempFile.getParent().resolve("work.txt").toString()).load().size());
+
+        workspaces.switchTo("work");
+        assertEquals(2, workspaces.getCurrentTasks().getSize());
+        assertFalse(workspaces.isLoaded("home"));
+        assertEquals(1, new Storage(tempFile.getParent().resolve("home.txt").toString()).load().size());
+    }
+
+    @Test
+    @DisplayName("Storage: should restore the search index only while the task file is unchanged")
+    void testSaveAndLoadSearchIndex() throws IOException, BobException {
+        TaskList tasks = new TaskList(List.of(new Todo("team meeting"), new Todo("meeting notes notes"),
+                new Deadline("submit report", LocalDate.of(2026, 3, 1))));
+        storage.saveWithIndex(tasks.getAllTasks(), tasks::writeSearchIndex);
+        assertTrue(storage.isSearchIndexCurrent());
+
+        Storage reloaded = new Storage(tempFile.toString());
+        List<Task> loadedTasks = reloaded.load();
+        ByteBuffer index = reloaded.loadSearchIndex();
+        assertNotNull(index);
+        assertFalse(index.isDirect());
+        Files.delete(tempFile.resolveSibling(tempFile.getFileName() + ".idx"));
+        TaskList restored = new TaskList(loadedTasks, index);
+        assertEquals(List.of(loadedTasks.get(0), loadedTasks.get(1)),
+                restored.findTasks(Parser.parseQuery("~meetng")));
+        assertEquals(List.of(loadedTasks.get(1)), restored.findTopTasks(Parser.parseQuery("notes"), 1));
+
+        restored.addTask(new Todo("meeting prep"));
+        reloaded.save(restored.getAllTasks());
+        assertFalse(reloaded.isSearchIndexCurrent());
+        Storage stale = new Storage(tempFile.toString());
+        stale.load();
+        assertNull(stale.loadSearchIndex());
+    }
+
+    @Test
+    @DisplayName("WorkspaceCache: should write deferred saves once, when all lists are saved")
+    void testDeferredSaves() throws IOException {
+        TaskList tasks = new TaskList(List.of(new Todo("a"), new Todo("b")));
+        WorkspaceCache workspaces = new WorkspaceCache(tempFile.getParent(), "test_tasks", storage, tasks,
+                WorkspaceCache.ESTIMATED_BYTES_PER_TASK * 10);
+        workspaces.setDeferringSaves(true);
+        storage.save(tasks.getAllTasks());
+        assertFalse(Files.exists(tempFile));
+        assertTrue(storage.hasDeferredSave());
+
+        workspaces.saveAll();
+        assertFalse(storage.hasDeferredSave());
+        assertEquals(2, new Storage(tempFile.toString()).load().size());
+    }
+
+
+    @Test
+    @DisplayName("Storage: a huge saved ID should be replaced when the list is loaded")
+    void testLoadHugeId() throws IOException, BobException {
+        Files.writeString(tempFile, "#2147483647 | T | 0 | huge #tag\n#3 | T | 0 | small #tag\n");
+
+        TaskList tasks = new TaskList(storage.load());
+        Task huge = tasks.getTask(0);
+        assertTrue(huge.getId() > 0 && huge.getId() <= 2 + TaskList.MAX_ID_HEADROOM, "ID " + huge.getId());
+        assertEquals(3, tasks.getTask(1).getId());
+        assertEquals(2, tasks.findTasks(Parser.parseQuery("tag:tag")).size());
+
+        tasks.addTask(new Todo("later"));
+        assertTrue(tasks.getTask(2).getId() > 0);
+        assertEquals(tasks.getTask(2), tasks.getTaskById(tasks.getTask(2).getId()));
+    }
+
+
+    @Test
+    @DisplayName("WorkspaceCache: an unchanged list with a stale search index should only rewrite the index")
+    void testSaveAllWritesOnlyStaleIndex() throws IOException {
+        Files.writeString(tempFile, "#1 | T | 0 | team meeting\n#2 | T | 0 | lunch\n");
+        List<Task> loaded = storage.load();
+        assertNull(storage.loadSearchIndex());
+        FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(tempFile, written);
+        TaskList tasks = new TaskList(loaded);
+        WorkspaceCache workspaces = new WorkspaceCache(tempFile.getParent(), "test_tasks", storage, tasks,
+                WorkspaceCache.ESTIMATED_BYTES_PER_TASK * 10);
+
+        workspaces.saveAll();
+        assertEquals(written, Files.getLastModifiedTime(tempFile));
+        assertTrue(storage.isSearchIndexCurrent());
+        Storage reloaded = new Storage(tempFile.toString());
+        reloaded.load();
+        assertNotNull(reloaded.loadSearchIndex());
+    }
+
+    @Test
+    @DisplayName("Storage: writing the search index should not change it, even with removed words in it")
+    void testWriteSearchIndexIsPure() throws IOException, BobException {
+        TaskList tasks = new TaskList(List.of(new Todo("team meeting"), new Todo("quarterly report")));
+        tasks.deleteTask(1);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        tasks.writeSearchIndex(new DataOutputStream(first));
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        tasks.writeSearchIndex(new DataOutputStream(second));
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+        TaskList restored = new TaskList(tasks.getAllTasks(), ByteBuffer.wrap(first.toByteArray()));
+        assertEquals(tasks.getAllTasks(), restored.findTasks(Parser.parseQuery("~meetng")));
+        assertTrue(restored.findTasks(Parser.parseQuery("~reprt")).isEmpty());
+    }
 }
@@ -288,4 +288,67 @@ class TaskTest {
         // Can't unmark when not done due to assertion in implementation
         // This tests the initial state is correct
     }
+
+    @Test
+    @DisplayName("Task: sort key should be lowercased and cached")
+    void testSortKeyCached() {
+        Todo todo = new Todo("Read BOOK");
+        String key = todo.getSortKey();
+        assertEquals("read book", key);
+        assertSame(key, todo.getSortKey());
+    }
+
+    @Test
+    @DisplayName("Task: identical descriptions should share one string")
+    void testDescriptionsAreShared() {
+        Todo first = new Todo(new String("daily standup"));
+        Deadline second = new Deadline(new String("daily standup"), LocalDate.of(2026, 1, 1));
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first.getSortKey(), second.getSortKey());
+    }
+
+    @Test
+    @DisplayName("DescriptionPool: size estimate should account for Latin-1 and UTF-16 strings")
+    void testDescriptionPoolSizeEstimate() {
+        assertEquals(24 + 24, DescriptionPool.estimateSize("standup"));
+        assertEquals(24 + 32, DescriptionPool.estimateSize("\u4f1a\u8bae\u8bb0\u5f55\u672c"));
+    }
+
+    @Test
+    @DisplayName("Deadline: recurring deadline should occur on every repeat of its date")
+    void testRecurringDeadlineOccursOn() {
+        Deadline weekly = new Deadline("report", LocalDate.of(2026, 3, 2), Recurrence.WEEKLY);
+        assertTrue(weekly.occursOn(LocalDate.of(2026, 3, 2)));
+        assertTrue(weekly.occursOn(LocalDate.of(2027, 3, 1)));
+        assertFalse(weekly.occursOn(LocalDate.of(2026, 3, 3)));
+        assertFalse(weekly.occursOn(LocalDate.of(2026, 2, 23)));
+        assertEquals("[D][ ] report (by: Mar 02 2026, every week)", weekly.toString());
+        assertEquals("D | 0 | report | 2026-03-02 | weekly", weekly.toFileString());
+    }
+
+    @Test
+    @DisplayName("Event: recurring event should cover every repeat of its date range")
+    void testRecurringEventOccursOn() {
+        Event monthly = new Event("retreat", LocalDate.of(2026, 1, 30), LocalDate.of(2026, 2, 1),
+                Recurrence.MONTHLY);
+        assertTrue(monthly.occursOn(LocalDate.of(2026, 2, 28)));
+        assertTrue(monthly.occursOn(LocalDate.of(2026, 3, 2)));
+        assertFalse(monthly.occursOn(LocalDate.of(2026, 3, 3)));
+        assertFalse(monthly.occursOn(LocalDate.of(2026, 1, 29)));
+        assertEquals("E | 0 | retreat | 2026-01-30 | 2026-02-01 | monthly", monthly.toFileString());
+    }
+
+    @Test
+    @DisplayName("Recurrence: should find occurrences around a date, keeping month ends")
+    void testRecurrenceOccurrences() {
+        LocalDate first = LocalDate.of(2026, 1, 31);
+        LocalDate endOfFebruary = LocalDate.of(2026, 2, 28);
+        assertEquals(endOfFebruary, Recurrence.MONTHLY.getLatestOnOrBefore(first, LocalDate.of(2026, 3, 1)));
+        assertEquals(endOfFebruary, Recurrence.MONTHLY.getEarliestOnOrAfter(first, endOfFebruary));
+        assertEquals(LocalDate.of(2026, 3, 31),
+                Recurrence.MONTHLY.getEarliestOnOrAfter(first, LocalDate.of(2026, 3, 1)));
+        assertEquals(first, Recurrence.DAILY.getEarliestOnOrAfter(first, LocalDate.of(2025, 1, 1)));
+        assertNull(Recurrence.DAILY.getLatestOnOrBefore(first, LocalDate.of(2026, 1, 30)));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("yearly"));
+    }
 }
@@ -0,0 +1,123 @@
+package bob.tasklist;
+
+import bob.task.Deadline;
+import bob.task.Event;
+import bob.task.Task;
+import bob.task.Todo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Times keyword and date searches run sequentially and in parallel over lists of growing size,
+ * to find the list size from which parallel search pays off on the machine it runs on.
+ * Run it with ./gradlew searchBenchmark; each size is warmed up before it is timed, and the
+ * median of the timed runs is reported. The smallest size from which both searches run faster in
+ * parallel at every larger size is the value to use for TaskList.PARALLEL_SEARCH_THRESHOLD.
+ */
+public class SearchBenchmark {
+    private static final int[] SIZES = {1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000};
+    private static final int WARMUP_RUNS = 200;
+    private static final int TIMED_RUNS = 101;
+    private static final String[] WORDS = {"review", "standup", "report", "invoice", "lunch", "deploy", "call",
+        "email", "book", "plan", "draft", "meeting", "budget", "sprint", "notes", "gym"};
+    private static final LocalDate SEARCH_DATE = LocalDate.of(2026, 6, 15);
+
+    /**
+     * Runs the benchmark and prints one row per list size, then the crossover size.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.printf("Common pool parallelism: %d, available processors: %d%n",
+                ForkJoinPool.getCommonPoolParallelism(), Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s %14s %14s%n", "tasks", "keyword seq us", "keyword par us",
+                "date seq us", "date par us");
+        // Compile both paths before anything is timed, so the first size is not timed in the interpreter
+        TaskList warmup = new TaskList(createTasks(SIZES[SIZES.length - 1]));
+        time(warmup, Integer.MAX_VALUE, t -> t.findTasksByKeyword("REPORT"));
+        time(warmup, 0, t -> t.findTasksByKeyword("REPORT"));
+        time(warmup, Integer.MAX_VALUE, t -> t.findTasksByDate(SEARCH_DATE));
+        time(warmup, 0, t -> t.findTasksByDate(SEARCH_DATE));
+
+        Integer crossover = null;
+        for (int size : SIZES) {
+            TaskList tasks = new TaskList(createTasks(size));
+            double keywordSequential = time(tasks, Integer.MAX_VALUE, t -> t.findTasksByKeyword("REPORT"));
+            double keywordParallel = time(tasks, 0, t -> t.findTasksByKeyword("REPORT"));
+            double dateSequential = time(tasks, Integer.MAX_VALUE, t -> t.findTasksByDate(SEARCH_DATE));
+            double dateParallel = time(tasks, 0, t -> t.findTasksByDate(SEARCH_DATE));
+            System.out.printf("%8d %14.1f %14.1f %14.1f %14.1f%n", size, keywordSequential, keywordParallel,
+                    dateSequential, dateParallel);
+            if (keywordParallel >= keywordSequential || dateParallel >= dateSequential) {
+                crossover = null;
+            } else if (crossover == null) {
+                crossover = size;
+            }
+        }
+        System.out.println(crossover == null
+                ? "Parallel search did not pay off at any size measured."
+                : "Parallel search pays off from " + crossover + " tasks.");
+    }
+
+    /**
+     * Creates a mix of todos, deadlines and events with descriptions of a few common words.
+     * The same seed is used every run so results are comparable.
+     *
+     * @param size the number of tasks
+     * @return the tasks
+     */
+    private static List<Task> createTasks(int size) {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i;
+            LocalDate date = SEARCH_DATE.plusDays(random.nextInt(60) - 30);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(description));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, date));
+                break;
+            default:
+                tasks.add(new Event(description, date, date.plusDays(random.nextInt(3))));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Times a search with the given parallel threshold.
+     *
+     * @param tasks the list to search
+     * @param threshold the parallel search threshold to use, 0 to always search in parallel
+     * @param search the search to run
+     * @return the median time of one search in microseconds
+     */
+    private static double time(TaskList tasks, int threshold, Function<TaskList, List<Task>> search) {
+        tasks.setParallelSearchThreshold(threshold);
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            checksum += search.apply(tasks).size();
+        }
+        long[] nanos = new long[TIMED_RUNS];
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long start = System.nanoTime();
+            checksum += search.apply(tasks).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        if (checksum < 0) {
+            throw new IllegalStateException("Unreachable; keeps the searches from being optimised away");
+        }
+        Arrays.sort(nanos);
+        return nanos[TIMED_RUNS / 2] / 1000.0;
+    }
+}
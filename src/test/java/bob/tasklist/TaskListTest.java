@@ -1,10 +1,15 @@
 package bob.tasklist;
 
 import bob.exception.BobException;
+import bob.parser.Parser;
 import bob.task.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -444,4 +449,601 @@ class TaskListTest {
         assertEquals("banana", tasks.get(1).getDescription());
         assertEquals("cherry", tasks.get(2).getDescription());
     }
+
+    @Test
+    @DisplayName("TaskList: getPage should return only the requested window")
+    void testGetPage() throws BobException {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new Todo("task" + i));
+        }
+
+        TaskPage page = taskList.getPage(2, 2);
+        assertEquals(2, page.getTasks().size());
+        assertEquals("task3", page.getTasks().get(0).getDescription());
+        assertEquals(2, page.getOffset());
+        assertEquals(3, page.getPageCount());
+        assertTrue(page.hasNextPage());
+
+        TaskPage lastPage = taskList.getPage(3, 2);
+        assertEquals(1, lastPage.getTasks().size());
+        assertFalse(lastPage.hasNextPage());
+    }
+
+    @Test
+    @DisplayName("TaskList: getPage should throw for a page past the end")
+    void testGetPageOutOfRange() {
+        taskList.addTask(new Todo("task"));
+        assertThrows(BobException.class, () -> taskList.getPage(2, 10));
+    }
+
+    @Test
+    @DisplayName("TaskList: deleteTasks should remove several tasks in one pass")
+    void testDeleteTasks() throws BobException {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new Todo("task" + i));
+        }
+
+        List<Task> deleted = taskList.deleteTasks(0, 2, 4);
+        assertEquals(3, deleted.size());
+        assertEquals("task3", deleted.get(1).getDescription());
+        assertEquals(2, taskList.getSize());
+        assertEquals("task2", taskList.getTask(0).getDescription());
+        assertEquals("task4", taskList.getTask(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("TaskList: bulk operations should change nothing if any index is invalid")
+    void testBulkOperationsInvalidIndex() throws BobException {
+        taskList.addTask(new Todo("task1"));
+        taskList.addTask(new Todo("task2"));
+
+        assertThrows(BobException.class, () -> taskList.markTasks(0, 5));
+        assertFalse(taskList.getTask(0).isDone());
+        assertThrows(BobException.class, () -> taskList.deleteTasks(1, 2));
+        assertEquals(2, taskList.getSize());
+    }
+
+    @Test
+    @DisplayName("TaskList: markTasks and unmarkTasks should update every task")
+    void testMarkAndUnmarkTasks() throws BobException {
+        taskList.addTask(new Todo("task1"));
+        taskList.addTask(new Todo("task2"));
+
+        taskList.markTasks(0, 1);
+        assertTrue(taskList.getTask(0).isDone());
+        assertTrue(taskList.getTask(1).isDone());
+
+        taskList.unmarkTasks(1);
+        assertFalse(taskList.getTask(1).isDone());
+    }
+
+    @Test
+    @DisplayName("TaskList: findTasks should apply every part of a query")
+    void testFindTasksWithQuery() throws BobException {
+        Deadline report = new Deadline("write report", LocalDate.of(2026, 11, 1));
+        Deadline draft = new Deadline("write report draft", LocalDate.of(2026, 11, 2));
+        Deadline late = new Deadline("write report", LocalDate.of(2027, 1, 1));
+        Todo todo = new Todo("write report");
+        taskList.addTask(report, draft, late, todo);
+        taskList.markTask(1);
+
+        List<Task> found = taskList.findTasks(
+                Parser.parseQuery("type:deadline before:2026-12-01 \"Write Report\" -draft"));
+        assertEquals(List.of(report), found);
+
+        assertEquals(List.of(report, late, todo), taskList.findTasks(Parser.parseQuery("done:false report")));
+        assertEquals(List.of(draft), taskList.findTasks(Parser.parseQuery("on:2026-11-02")));
+    }
+
+    @Test
+    @DisplayName("TaskList: parallel search on a large list should keep list order")
+    void testParallelSearchKeepsOrder() {
+        int size = 40_000;
+        for (int i = 0; i < size; i++) {
+            taskList.addTask(new Todo(i % 3 == 0 ? "match " + i : "other " + i));
+        }
+        taskList.setParallelSearchThreshold(size);
+
+        List<Task> found = taskList.findTasksByKeyword("MATCH");
+        assertEquals((size + 2) / 3, found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals("match " + (i * 3), found.get(i).getDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("TaskList: ~word should match descriptions despite typos")
+    void testFindTasksFuzzy() throws BobException {
+        Todo meeting = new Todo("Team meeting notes");
+        Todo book = new Todo("return library book");
+        Todo other = new Todo("buy milk");
+        taskList.addTask(meeting, book, other);
+
+        assertEquals(List.of(meeting), taskList.findTasks(Parser.parseQuery("~meetng")));
+        assertEquals(List.of(book), taskList.findTasks(Parser.parseQuery("~bok")));
+        assertTrue(taskList.findTasks(Parser.parseQuery("~xylophone")).isEmpty());
+
+        taskList.deleteTask(0);
+        assertTrue(taskList.findTasks(Parser.parseQuery("~meetng")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("BkTree: should find words within the edit distance")
+    void testBkTreeSearch() {
+        BkTree tree = new BkTree();
+        for (String word : List.of("book", "books", "look", "cook", "meeting", "milk")) {
+            tree.add(word);
+        }
+        tree.add("book");
+
+        assertEquals(6, tree.getSize());
+        List<String> matches = tree.search("bok", 1);
+        assertEquals(1, matches.size());
+        assertTrue(matches.contains("book"));
+        assertEquals(4, tree.search("boook", 2).size());
+        assertEquals(3, BkTree.distance("kitten", "sitting", 10));
+        assertEquals(2, BkTree.distance("kitten", "sitting", 1));
+    }
+
+    @Test
+    @DisplayName("TaskList: findUpcomingTasks should return the next undone dated tasks in order")
+    void testFindUpcomingTasks() throws BobException {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        Deadline past = new Deadline("past", today.minusDays(1));
+        Deadline later = new Deadline("later", today.plusDays(10));
+        Event soon = new Event("soon", today.plusDays(2), today.plusDays(3));
+        Deadline dueToday = new Deadline("today", today);
+        Deadline done = new Deadline("done", today.plusDays(1));
+        taskList.addTask(past, later, new Todo("todo"), soon, dueToday, done);
+        taskList.markTask(5);
+
+        assertEquals(List.of(dueToday, soon), taskList.findUpcomingTasks(today, 2));
+        assertEquals(List.of(dueToday, soon, later), taskList.findUpcomingTasks(today, 10));
+
+        taskList.unmarkTask(5);
+        taskList.deleteTask(1);
+        assertEquals(List.of(dueToday, done, soon), taskList.findUpcomingTasks(today, 10));
+    }
+
+    @Test
+    @DisplayName("TaskList: statistics should follow adds, deletes and status changes")
+    void testGetStatistics() throws BobException {
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        taskList.addTask(new Todo("todo"));
+        taskList.addTask(new Deadline("overdue", today.minusDays(3)));
+        taskList.addTask(new Deadline("this week", today.plusDays(6)));
+        taskList.addTask(new Deadline("next week", today.plusDays(7)));
+        taskList.addTask(new Event("event", today, today.plusDays(1)));
+
+        TaskStatistics stats = taskList.getStatistics(today);
+        assertEquals(5, stats.getTotalCount());
+        assertEquals(1, stats.getTodoCount());
+        assertEquals(3, stats.getDeadlineCount());
+        assertEquals(1, stats.getEventCount());
+        assertEquals(0, stats.getDoneCount());
+        assertEquals(1, stats.getOverdueCount());
+        assertEquals(1, stats.getDueThisWeekCount());
+
+        taskList.markTask(1);
+        taskList.markTask(1);
+        assertEquals(1, taskList.getStatistics(today).getDoneCount());
+        assertEquals(0, taskList.getStatistics(today).getOverdueCount());
+
+        assertEquals(2, taskList.getStatistics(today.plusDays(8)).getOverdueCount());
+        taskList.deleteTask(2);
+        assertEquals(1, taskList.getStatistics(today.plusDays(8)).getOverdueCount());
+        assertEquals(0, taskList.getStatistics(today).getOverdueCount());
+        assertEquals(4, taskList.getStatistics(today).getTotalCount());
+    }
+
+    @Test
+    @DisplayName("TaskList: undo and redo should reverse and reapply changes")
+    void testUndoRedo() throws BobException {
+        Todo b = new Todo("b");
+        Todo a = new Todo("a");
+        Todo c = new Todo("c");
+        taskList.addTask(b, a, c);
+        taskList.markTasks(0, 2);
+        taskList.sortTasks();
+        taskList.deleteTasks(0, 2);
+        assertEquals(List.of(b), taskList.getAllTasks());
+
+        assertEquals(List.of("delete 2 task(s)"), taskList.undo(1));
+        assertEquals(List.of(a, b, c), taskList.getAllTasks());
+        assertEquals(List.of("sort", "mark 2 task(s)"), taskList.undo(2));
+        assertEquals(List.of(b, a, c), taskList.getAllTasks());
+        assertFalse(b.isDone());
+        assertEquals(0, taskList.getStatistics(LocalDate.now()).getDoneCount());
+
+        taskList.redo(3);
+        assertEquals(List.of(b), taskList.getAllTasks());
+        assertTrue(b.isDone());
+        assertThrows(BobException.class, () -> taskList.redo(1));
+
+        taskList.undo(10);
+        assertTrue(taskList.isEmpty());
+        assertThrows(BobException.class, () -> taskList.undo(1));
+        assertTrue(taskList.findTasks(Parser.parseQuery("~b")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TaskList: a new change should clear the redo history")
+    void testNewChangeClearsRedo() throws BobException {
+        taskList.addTask(new Todo("task1"));
+        taskList.deleteTask(0);
+        taskList.undo(1);
+        taskList.addTask(new Todo("task2"));
+        assertThrows(BobException.class, () -> taskList.redo(1));
+        assertEquals(2, taskList.getSize());
+    }
+
+    @Test
+    @DisplayName("TaskList: tasks should keep stable IDs through deletes and sorts")
+    void testStableIds() throws BobException {
+        Todo c = new Todo("c");
+        Todo a = new Todo("a");
+        Todo b = new Todo("b");
+        taskList.addTask(c, a, b);
+        assertEquals(1, c.getId());
+        assertEquals(3, b.getId());
+
+        taskList.sortTasks();
+        assertSame(c, taskList.getTaskById(1));
+        taskList.markTasksById(1);
+        assertTrue(c.isDone());
+
+        assertEquals(List.of(a, c), taskList.deleteTasksById(1, 2));
+        assertEquals(List.of(b), taskList.getAllTasks());
+        assertThrows(BobException.class, () -> taskList.getTaskById(1));
+        assertThrows(BobException.class, () -> taskList.unmarkTasksById(3, 99));
+
+        taskList.addTask(new Todo("d"));
+        assertEquals(4, taskList.getTask(1).getId());
+    }
+
+    @Test
+    @DisplayName("TaskList: loaded tasks should keep their IDs and duplicates should be renumbered")
+    void testLoadedIds() {
+        Todo first = new Todo("first");
+        first.setId(7);
+        Todo duplicate = new Todo("duplicate");
+        duplicate.setId(7);
+        Todo unnumbered = new Todo("unnumbered");
+
+        TaskList loaded = new TaskList(List.of(first, duplicate, unnumbered));
+        assertEquals(7, first.getId());
+        assertEquals(8, duplicate.getId());
+        assertEquals(9, unnumbered.getId());
+    }
+
+    @Test
+    @DisplayName("TaskList: should find events sharing a day with a given event")
+    void testFindConflicts() {
+        Event conference = new Event("conference", "2026-03-01", "2026-03-10");
+        Event lunch = new Event("lunch", "2026-03-10", "2026-03-10");
+        Event trip = new Event("trip", "2026-03-12", "2026-03-14");
+        taskList.addTask(conference, lunch, trip, new Deadline("report", "2026-03-05"));
+
+        assertEquals(List.of(conference), taskList.findConflicts(lunch));
+        assertEquals(List.of(), taskList.findConflicts(trip));
+        assertEquals(List.of(conference, lunch),
+                taskList.findConflicts(new Event("workshop", "2026-03-09", "2026-03-11")));
+    }
+
+    @Test
+    @DisplayName("TaskList: should report every overlapping pair of undone events")
+    void testFindAllConflicts() throws BobException {
+        Event conference = new Event("conference", "2026-03-01", "2026-03-10");
+        Event lunch = new Event("lunch", "2026-03-05", "2026-03-05");
+        Event dinner = new Event("dinner", "2026-03-05", "2026-03-05");
+        Event trip = new Event("trip", "2026-03-11", "2026-03-14");
+        taskList.addTask(conference, lunch, dinner, trip);
+
+        List<EventConflict> conflicts = taskList.findAllConflicts();
+        assertEquals(3, conflicts.size());
+        assertSame(dinner, conflicts.get(2).getSecond());
+
+        taskList.markTask(0);
+        assertEquals(1, taskList.findAllConflicts().size());
+        taskList.deleteTask(1);
+        assertTrue(taskList.findAllConflicts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TaskList: recurring tasks should be found by date and placed by next occurrence")
+    void testRecurringTasks() {
+        Deadline weekly = new Deadline("timesheet", LocalDate.of(2026, 1, 2), Recurrence.WEEKLY);
+        Deadline once = new Deadline("report", LocalDate.of(2026, 3, 10));
+        Event monthly = new Event("review", LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 15),
+                Recurrence.MONTHLY);
+        taskList.addTask(weekly, once, monthly);
+
+        assertEquals(List.of(weekly), taskList.findTasksByDate(LocalDate.of(2026, 3, 6)));
+        assertEquals(List.of(monthly), taskList.findTasksByDate(LocalDate.of(2026, 3, 15)));
+        assertEquals(List.of(once, weekly, monthly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 7), 5));
+        assertEquals(List.of(monthly, weekly), taskList.findUpcomingTasks(LocalDate.of(2026, 4, 14), 2));
+        assertEquals(1, taskList.getStatistics(LocalDate.of(2026, 4, 1)).getOverdueCount());
+        assertTrue(taskList.findAllConflicts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TaskList: should find tasks by tags using the tag index")
+    void testFindTasksByTag() throws BobException {
+        Todo api = new Todo("fix login #urgent #backend");
+        Todo css = new Todo("fix colours #urgent #frontend");
+        Todo docs = new Todo("write docs #Backend");
+        Todo plain = new Todo("email about urgent#notatag");
+        taskList.addTask(api, css, docs, plain);
+
+        assertEquals(List.of(api), taskList.findTasks(Parser.parseQuery("tag:urgent tag:backend")));
+        assertEquals(List.of(api, docs), taskList.findTasks(Parser.parseQuery("#backend")));
+        assertEquals(List.of(api, css, docs), taskList.findTasks(Parser.parseQuery("tag:backend,#frontend")));
+        assertEquals(List.of(css), taskList.findTasks(Parser.parseQuery("tag:urgent colours")));
+        assertTrue(taskList.findTasks(Parser.parseQuery("tag:notatag")).isEmpty());
+
+        taskList.deleteTask(0);
+        assertEquals(List.of(docs), taskList.findTasks(Parser.parseQuery("tag:backend")));
+        assertTrue(taskList.findTasks(Parser.parseQuery("tag:urgent tag:backend")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TaskList: ranked search should put the most relevant matches first")
+    void testFindTopTasks() throws BobException {
+        Todo passing = new Todo("meeting room booking for the whole department next quarter");
+        Todo focused = new Todo("meeting notes");
+        Todo repeated = new Todo("notes notes notes");
+        Todo unrelated = new Todo("buy milk");
+        Todo alsoPassing = new Todo("team meeting");
+        taskList.addTask(passing, focused, repeated, unrelated, alsoPassing);
+
+        assertEquals(List.of(repeated, focused), taskList.findTopTasks(Parser.parseQuery("notes"), 2));
+        assertEquals(List.of(focused, alsoPassing, passing), taskList.findTopTasks(Parser.parseQuery("meeting"), 5));
+        assertEquals(List.of(alsoPassing, passing), taskList.findTopTasks(Parser.parseQuery("meeting -notes"), 5));
+        assertEquals(List.of(passing, focused), taskList.findTopTasks(Parser.parseQuery("type:todo"), 2));
+        assertTrue(taskList.findTopTasks(Parser.parseQuery("tea"), 3).contains(alsoPassing));
+    }
+
+    @Test
+    @DisplayName("TaskList: should rebuild the word index when the saved copy does not fit")
+    void testRestoreSearchIndexFallback() throws IOException, BobException {
+        List<Task> tasks = List.of(new Todo("team meeting"), new Todo("buy milk"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new TaskList(tasks.subList(0, 1)).writeSearchIndex(new DataOutputStream(bytes));
+
+        TaskList mismatched = new TaskList(tasks, ByteBuffer.wrap(bytes.toByteArray()));
+        assertEquals(List.of(tasks.get(1)), mismatched.findTasks(Parser.parseQuery("~mlk")));
+        TaskList truncated = new TaskList(tasks, ByteBuffer.wrap(bytes.toByteArray(), 0, 6));
+        assertEquals(List.of(tasks.get(0)), truncated.findTasks(Parser.parseQuery("~meting")));
+    }
+
+    @Test
+    @DisplayName("TaskList: rolling back a transaction should reverse all its changes and keep the undo history")
+    void testTransactionRollback() throws BobException {
+        Todo a = new Todo("a");
+        Todo b = new Todo("b");
+        taskList.addTask(b, a);
+        taskList.beginTransaction();
+        assertThrows(BobException.class, () -> taskList.beginTransaction());
+
+        taskList.markTasks(0);
+        taskList.sortTasks();
+        taskList.deleteTasks(0);
+        taskList.undo(1);
+        taskList.addTask(new Todo("c"));
+        assertEquals(5, taskList.rollBackTransaction());
+
+        assertEquals(List.of(b, a), taskList.getAllTasks());
+        assertFalse(b.isDone());
+        assertFalse(taskList.isInTransaction());
+        assertThrows(BobException.class, () -> taskList.redo(1));
+        assertEquals(List.of("add 2 task(s)"), taskList.undo(1));
+        assertTrue(taskList.isEmpty());
+        assertThrows(BobException.class, () -> taskList.rollBackTransaction());
+    }
+
+    @Test
+    @DisplayName("TaskList: committing a transaction should keep its changes")
+    void testTransactionCommit() throws BobException {
+        taskList.beginTransaction();
+        taskList.addTask(new Todo("a"));
+        taskList.markTasks(0);
+        assertEquals(2, taskList.commitTransaction());
+        assertTrue(taskList.getTask(0).isDone());
+        assertThrows(BobException.class, () -> taskList.commitTransaction());
+    }
+
+    @Test
+    @DisplayName("TaskList: getPage should reject huge page numbers and sizes without overflowing")
+    void testGetPageHugeValues() throws BobException {
+        taskList.addTask(new Todo("task1"));
+        taskList.addTask(new Todo("task2"));
+
+        BobException e = assertThrows(BobException.class, () -> taskList.getPage(3, 1073741824));
+        assertTrue(e.getMessage().contains("That page doesn't exist"));
+        assertThrows(BobException.class, () -> taskList.getPage(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        TaskPage page = taskList.getPage(1, Integer.MAX_VALUE);
+        assertEquals(2, page.getTasks().size());
+        assertEquals(1, page.getPageCount());
+        assertTrue(page.isComplete());
+    }
+
+    @Test
+    @DisplayName("TaskList: recurring deadlines should count as due this week by their next occurrence")
+    void testStatisticsDueThisWeekRecurring() throws BobException {
+        LocalDate today = LocalDate.of(2026, 4, 1);
+        taskList.addTask(new Deadline("timesheet", LocalDate.of(2026, 1, 2), Recurrence.WEEKLY));
+        taskList.addTask(new Deadline("rent", LocalDate.of(2026, 1, 20), Recurrence.MONTHLY));
+
+        assertEquals(1, taskList.getStatistics(today).getDueThisWeekCount());
+        assertEquals(2, taskList.getStatistics(LocalDate.of(2026, 4, 15)).getDueThisWeekCount());
+        assertEquals(0, taskList.getStatistics(today).getOverdueCount());
+
+        taskList.markTask(0);
+        assertEquals(0, taskList.getStatistics(today).getDueThisWeekCount());
+        taskList.unmarkTask(0);
+        taskList.deleteTask(0);
+        assertEquals(0, taskList.getStatistics(today).getDueThisWeekCount());
+    }
+
+    @Test
+    @DisplayName("TaskList: conflict checks should match a full scan as long events come and go")
+    void testFindConflictsMatchesScan() throws BobException {
+        java.util.Random random = new java.util.Random(42);
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        taskList.addTask(new Event("sabbatical", base, base.plusDays(300), null));
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = base.plusDays(random.nextInt(365));
+            taskList.addTask(new Event("event" + i, from, from.plusDays(random.nextInt(4)), null));
+        }
+        assertConflictsMatchScan();
+        taskList.deleteTask(0);
+        assertConflictsMatchScan();
+        taskList.markTask(5);
+        taskList.deleteTask(17);
+        assertConflictsMatchScan();
+    }
+
+    private void assertConflictsMatchScan() {
+        List<Event> undoneEvents = new java.util.ArrayList<>();
+        for (Task task : taskList.getAllTasks()) {
+            if (!task.isDone()) {
+                undoneEvents.add((Event) task);
+            }
+        }
+        undoneEvents.sort(java.util.Comparator.comparing(Event::getFromDate));
+        for (Event event : undoneEvents) {
+            List<Event> expected = new java.util.ArrayList<>();
+            for (Event other : undoneEvents) {
+                if (other != event && !other.getFromDate().isAfter(event.getToDate())
+                        && !other.getToDate().isBefore(event.getFromDate())) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected, taskList.findConflicts(event));
+        }
+    }
+
+    @Test
+    @DisplayName("TaskList: memory saved should count only repeated descriptions still in the list")
+    void testStatisticsSharedDescriptionBytes() throws BobException {
+        LocalDate today = LocalDate.of(2026, 4, 1);
+        long size = DescriptionPool.estimateSize("daily standup");
+        taskList.addTask(new Todo("daily standup"));
+        assertEquals(0, taskList.getStatistics(today).getSharedDescriptionBytes());
+
+        taskList.addTask(new Todo("daily standup"), new Deadline("daily standup", today), new Todo("lunch"));
+        assertEquals(2 * size, taskList.getStatistics(today).getSharedDescriptionBytes());
+
+        taskList.deleteTask(0);
+        taskList.deleteTask(0);
+        assertEquals(0, taskList.getStatistics(today).getSharedDescriptionBytes());
+        assertTrue(taskList.getStatistics(today).toLines()[5].startsWith("  Memory saved"));
+    }
+
+
+    @Test
+    @DisplayName("TaskList: rolling back to a savepoint should reverse later changes and restore the history")
+    void testSavepointRollback() throws BobException {
+        Todo a = new Todo("a");
+        taskList.addTask(a);
+        Savepoint savepoint = taskList.createSavepoint();
+        assertTrue(taskList.hasOpenSavepoint());
+
+        taskList.addTask(new Todo("b"));
+        taskList.markTasks(0);
+        taskList.undo(1);
+        long changeCount = taskList.getChangeCount();
+        taskList.rollBackTo(savepoint);
+
+        assertEquals(List.of(a), taskList.getAllTasks());
+        assertFalse(a.isDone());
+        assertFalse(taskList.hasOpenSavepoint());
+        assertTrue(taskList.getChangeCount() > changeCount);
+        assertThrows(BobException.class, () -> taskList.redo(1));
+        assertEquals(List.of("add 1 task(s)"), taskList.undo(1));
+    }
+
+    @Test
+    @DisplayName("TaskList: a savepoint should undo a transaction begun, committed or rolled back after it")
+    void testSavepointAroundTransactions() throws BobException {
+        taskList.addTask(new Todo("a"));
+        Savepoint savepoint = taskList.createSavepoint();
+        taskList.beginTransaction();
+        taskList.addTask(new Todo("b"));
+        taskList.rollBackTo(savepoint);
+        assertFalse(taskList.isInTransaction());
+        assertEquals(1, taskList.getSize());
+
+        savepoint = taskList.createSavepoint();
+        taskList.beginTransaction();
+        taskList.addTask(new Todo("b"));
+        taskList.commitTransaction();
+        taskList.rollBackTo(savepoint);
+        assertEquals(1, taskList.getSize());
+
+        taskList.beginTransaction();
+        taskList.markTasks(0);
+        savepoint = taskList.createSavepoint();
+        taskList.addTask(new Todo("b"));
+        assertEquals(2, taskList.rollBackTransaction());
+        assertFalse(taskList.getTask(0).isDone());
+        taskList.rollBackTo(savepoint);
+        assertTrue(taskList.isInTransaction());
+        assertTrue(taskList.getTask(0).isDone());
+        assertEquals(1, taskList.getSize());
+        assertEquals(1, taskList.commitTransaction());
+    }
+
+    @Test
+    @DisplayName("TaskList: releasing a savepoint should keep its changes")
+    void testSavepointRelease() throws BobException {
+        Savepoint savepoint = taskList.createSavepoint();
+        taskList.addTask(new Todo("a"));
+        taskList.releaseSavepoint(savepoint);
+        assertFalse(taskList.hasOpenSavepoint());
+        assertEquals(1, taskList.getSize());
+        assertEquals(List.of("add 1 task(s)"), taskList.undo(1));
+    }
+
+
+    @Test
+    @DisplayName("TaskList: tag-only queries should return tasks in list order before and after sorting")
+    void testFindTasksTagOnlyKeepsListOrder() throws BobException {
+        Todo zebra = new Todo("zebra #home");
+        Todo apple = new Todo("apple #home");
+        Todo work = new Todo("report #work");
+        Todo mango = new Todo("mango #home #work");
+        taskList.addTask(zebra, apple, work, mango);
+        TaskQuery home = Parser.parseQuery("tag:home");
+
+        assertEquals(List.of(zebra, apple, mango), taskList.findTasks(home));
+        taskList.sortTasks();
+        assertEquals(List.of(apple, mango, zebra), taskList.findTasks(home));
+        taskList.undo(1);
+        assertEquals(List.of(zebra, apple, mango), taskList.findTasks(home));
+        taskList.deleteTasks(1);
+        assertEquals(List.of(zebra, mango), taskList.findTasks(home));
+        assertEquals(List.of(mango), taskList.findTasks(Parser.parseQuery("tag:home tag:work")));
+    }
+
+
+    @Test
+    @DisplayName("TaskList: upcoming recurring tasks should follow the day asked for, forwards and back")
+    void testUpcomingRecurringMovesWithDay() throws BobException {
+        Deadline weekly = new Deadline("timesheet", LocalDate.of(2026, 1, 2), Recurrence.WEEKLY);
+        Event monthly = new Event("review", LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 15),
+                Recurrence.MONTHLY);
+        Deadline once = new Deadline("report", LocalDate.of(2026, 3, 10));
+        taskList.addTask(weekly, monthly, once);
+
+        assertEquals(List.of(once, weekly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 7), 2));
+        assertEquals(List.of(monthly, weekly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 14), 2));
+        taskList.markTask(0);
+        assertEquals(List.of(monthly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 14), 5));
+        taskList.unmarkTask(0);
+        assertEquals(List.of(monthly, weekly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 14), 2));
+        assertEquals(List.of(weekly, once, monthly), taskList.findUpcomingTasks(LocalDate.of(2026, 3, 1), 3));
+        assertEquals(List.of(weekly, monthly), taskList.findUpcomingTasks(LocalDate.of(2026, 1, 1), 2));
+    }
 }